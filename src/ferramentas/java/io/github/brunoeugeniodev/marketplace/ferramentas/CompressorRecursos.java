@@ -0,0 +1,84 @@
+package io.github.brunoeugeniodev.marketplace.ferramentas;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// Gera as variantes .gz dos recursos estáticos de texto, servidas pelo EncodedResourceResolver
+// (RecursosEstaticosConfig) sem comprimir a cada requisição. Roda no build (fase process-test-classes do pom,
+// já que as ferramentas compilam com os testes) sobre target/classes/static; imagens já são comprimidas e ficam de fora.
+public final class CompressorRecursos {
+
+    private static final Logger log = LoggerFactory.getLogger(CompressorRecursos.class);
+
+    private static final Set<String> EXTENSOES = Set.of("css", "js", "svg", "json", "html", "txt");
+
+    // Abaixo disso o cabeçalho do gzip e o Content-Encoding custam mais do que economizam
+    private static final int TAMANHO_MINIMO = 512;
+
+    private CompressorRecursos() {
+    }
+
+    // Devolve quantos arquivos ganharam .gz; o .gz só é mantido quando fica menor que o original
+    public static int comprimir(Path pasta) throws IOException {
+        List<Path> arquivos;
+        try (Stream<Path> caminhos = Files.walk(pasta)) {
+            arquivos = caminhos.filter(Files::isRegularFile).filter(CompressorRecursos::compressivel).toList();
+        }
+        int gerados = 0;
+        for (Path arquivo : arquivos) {
+            byte[] original = Files.readAllBytes(arquivo);
+            Path destino = arquivo.resolveSibling(arquivo.getFileName() + ".gz");
+            try (OutputStream saida = new GZIPOutputStream(Files.newOutputStream(destino)) {
+                {
+                    def.setLevel(Deflater.BEST_COMPRESSION);
+                }
+            }) {
+                saida.write(original);
+            }
+            if (Files.size(destino) < original.length) {
+                gerados++;
+            } else {
+                Files.delete(destino);
+            }
+        }
+        return gerados;
+    }
+
+    private static boolean compressivel(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        int ponto = nome.lastIndexOf('.');
+        if (ponto < 0 || !EXTENSOES.contains(nome.substring(ponto + 1).toLowerCase(Locale.ROOT))) {
+            return false;
+        }
+        try {
+            return Files.size(arquivo) >= TAMANHO_MINIMO;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // Uso: CompressorRecursos target/classes/static (exec:java do pom)
+    public static void main(String[] args) throws IOException {
+        // Roda dentro do JVM do Maven (exec:java), então erro sai como exceção e não como System.exit
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Uso: CompressorRecursos <pasta>");
+        }
+        Path pasta = Path.of(args[0]);
+        if (!Files.isDirectory(pasta)) {
+            log.info("Pasta {} não existe, nada a comprimir", pasta);
+            return;
+        }
+        log.info("{} recursos comprimidos (.gz) em {}", comprimir(pasta), pasta);
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.brunoeugeniodev.marketplace.ferramentas;
+
+import io.github.brunoeugeniodev.marketplace.util.BaseCep;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+// Gera a base binária de CEPs (BaseCep) a partir de um CSV "cep;logradouro;bairro;cidade;uf".
+// Ferramenta de linha de comando, fora do jar da aplicação:
+//   mvn test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=io.github.brunoeugeniodev.marketplace.ferramentas.GeradorBaseCep \
+//       -Dexec.args="ceps.csv dados/ceps.bin"
+// Códigos de saída: 0 = ok, 1 = uso incorreto, 2 = erro de leitura/escrita.
+public final class GeradorBaseCep {
+
+    private static final Logger log = LoggerFactory.getLogger(GeradorBaseCep.class);
+
+    private GeradorBaseCep() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(executar(args));
+    }
+
+    static int executar(String[] args) {
+        if (args.length != 2) {
+            log.error("Uso: GeradorBaseCep <entrada.csv> <saida.bin>");
+            return 1;
+        }
+        Path entrada = Path.of(args[0]);
+        Path saida = Path.of(args[1]);
+        try {
+            if (saida.getParent() != null) {
+                Files.createDirectories(saida.getParent());
+            }
+            try (BufferedReader csv = Files.newBufferedReader(entrada, StandardCharsets.UTF_8);
+                 OutputStream destino = new BufferedOutputStream(Files.newOutputStream(saida))) {
+                int total = gerar(csv, destino);
+                log.info("{} CEPs gravados em {}", total, saida);
+                return 0;
+            }
+        } catch (IOException e) {
+            log.error("Falha ao gerar a base de CEPs de {} em {}", entrada, saida, e);
+            return 2;
+        }
+    }
+
+    // Gera o arquivo a partir de um CSV "cep;logradouro;bairro;cidade;uf" em UTF-8 (cabeçalho opcional).
+    // Linhas com CEP ou UF inválidos são ignoradas; CEPs repetidos ficam com a última ocorrência.
+    static int gerar(BufferedReader csv, OutputStream destino) throws IOException {
+        Map<Integer, String[]> porCep = new HashMap<>();
+        String linha;
+        while ((linha = csv.readLine()) != null) {
+            String[] campos = linha.split(";", -1);
+            if (campos.length < 5) {
+                continue;
+            }
+            String cep = campos[0].replaceAll("\\D", "");
+            String uf = campos[4].trim().toUpperCase();
+            if (cep.length() != 8 || !uf.matches("[A-Z]{2}")) {
+                continue;
+            }
+            porCep.put(Integer.parseInt(cep), new String[]{campos[1].trim(), campos[2].trim(), campos[3].trim(), uf});
+        }
+
+        List<Map.Entry<Integer, String[]>> registros = new ArrayList<>(porCep.entrySet());
+        registros.sort(Comparator.comparing(Map.Entry::getKey));
+
+        // Tabela de textos sem repetição: bairros e cidades aparecem milhares de vezes
+        Map<String, Integer> deslocamentos = new HashMap<>();
+        List<byte[]> textos = new ArrayList<>();
+        int[] proximo = {0};
+        ToIntFunction<String> registrar = texto -> deslocamentos.computeIfAbsent(texto, t -> {
+            byte[] bytes = t.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > 0xFFFF) {
+                throw new IllegalArgumentException("Texto longo demais para a base de CEPs: " + t.substring(0, 50));
+            }
+            int deslocamento = proximo[0];
+            textos.add(bytes);
+            proximo[0] += 2 + bytes.length;
+            return deslocamento;
+        });
+
+        DataOutputStream saida = new DataOutputStream(destino);
+        saida.writeInt(BaseCep.MAGIC);
+        saida.writeInt(registros.size());
+        for (Map.Entry<Integer, String[]> registro : registros) {
+            String[] campos = registro.getValue();
+            saida.writeInt(registro.getKey());
+            saida.writeInt(registrar.applyAsInt(campos[0]));
+            saida.writeInt(registrar.applyAsInt(campos[1]));
+            saida.writeInt(registrar.applyAsInt(campos[2]));
+            saida.write(campos[3].getBytes(StandardCharsets.US_ASCII));
+        }
+        // Confere que o que foi escrito bate com o layout que a BaseCep lê
+        if (saida.size() != BaseCep.TAMANHO_CABECALHO + registros.size() * BaseCep.TAMANHO_REGISTRO) {
+            throw new IllegalStateException("Registros gravados fora do layout da BaseCep");
+        }
+        for (byte[] texto : textos) {
+            saida.writeShort(texto.length);
+            saida.write(texto);
+        }
+        saida.flush();
+        return registros.size();
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.brunoeugeniodev.marketplace.benchmark;
+
+import io.github.brunoeugeniodev.marketplace.util.AnalisadorTexto;
+import io.github.brunoeugeniodev.marketplace.util.ArvorePrefixos;
+import io.github.brunoeugeniodev.marketplace.util.IndiceFacetas;
+import io.github.brunoeugeniodev.marketplace.util.IndiceInvertido;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Estruturas de busca em memória (índice invertido, autocomplete e facetas) com um catálogo sintético
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BuscaMemoriaBenchmark {
+
+    @Param({"100000"})
+    private int quantidadeProdutos;
+
+    private IndiceInvertido indice;
+    private ArvorePrefixos arvore;
+    private IndiceFacetas facetas;
+
+    private List<String> consultaUmTermo;
+    private List<String> consultaDoisTermos;
+
+    @Setup
+    public void preparar() {
+        indice = new IndiceInvertido();
+        arvore = new ArvorePrefixos();
+        facetas = new IndiceFacetas();
+
+        for (long id = 1; id <= quantidadeProdutos; id++) {
+            int i = (int) id;
+            String nome = Fixtures.NOMES[i % Fixtures.NOMES.length] + " " + Fixtures.MARCAS[i % Fixtures.MARCAS.length]
+                    + " modelo " + id;
+            String categoria = Fixtures.CATEGORIAS[i % Fixtures.CATEGORIAS.length];
+            String marca = Fixtures.MARCAS[i % Fixtures.MARCAS.length];
+
+            Map<String, Float> frequencias = new HashMap<>();
+            AnalisadorTexto.analisar(nome).forEach(termo -> frequencias.merge(termo, 3f, Float::sum));
+            AnalisadorTexto.analisar(categoria + " " + marca).forEach(termo -> frequencias.merge(termo, 2f, Float::sum));
+            indice.indexar(id, frequencias);
+
+            arvore.ajustar(AnalisadorTexto.normalizar(nome), nome, "PRODUTO", 1 + i % 500);
+            facetas.indexar(id, Map.of("categoria", categoria, "marca", marca, "faixaPreco", (i % 5) + ""));
+        }
+
+        consultaUmTermo = AnalisadorTexto.analisar("celular");
+        consultaDoisTermos = AnalisadorTexto.analisar("celulares samsung");
+    }
+
+    @Benchmark
+    public List<String> analisarConsulta() {
+        return AnalisadorTexto.analisar("Celulares Samsung com câmera");
+    }
+
+    @Benchmark
+    public List<Long> indiceUmTermo() {
+        return indice.buscar(consultaUmTermo);
+    }
+
+    @Benchmark
+    public List<Long> indiceDoisTermos() {
+        return indice.buscar(consultaDoisTermos);
+    }
+
+    @Benchmark
+    public List<ArvorePrefixos.Sugestao> autocompletar() {
+        return arvore.buscar("cel", 8);
+    }
+
+    @Benchmark
+    public IndiceFacetas.Resultado facetasComFiltro() {
+        return facetas.consultar(null, Map.of("marca", Set.of("Samsung", "Apple")),
+                List.of("categoria", "marca", "faixaPreco"));
+    }
+}
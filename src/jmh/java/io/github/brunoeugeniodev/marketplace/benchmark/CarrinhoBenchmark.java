@@ -0,0 +1,32 @@
+package io.github.brunoeugeniodev.marketplace.benchmark;
+
+import io.github.brunoeugeniodev.marketplace.models.Carrinho;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+// Total do carrinho, recalculado a cada leitura de /api/carrinho
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CarrinhoBenchmark {
+
+    @Param({"5", "50"})
+    private int quantidadeItens;
+
+    private Carrinho carrinho;
+
+    @Setup
+    public void preparar() {
+        carrinho = Fixtures.carrinho(quantidadeItens);
+    }
+
+    @Benchmark
+    public BigDecimal getTotal() {
+        return carrinho.getTotal();
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.brunoeugeniodev.marketplace.benchmark;
+
+import io.github.brunoeugeniodev.marketplace.models.Carrinho;
+import io.github.brunoeugeniodev.marketplace.models.ItemCarrinho;
+import io.github.brunoeugeniodev.marketplace.models.Loja;
+import io.github.brunoeugeniodev.marketplace.models.Produto;
+import io.github.brunoeugeniodev.marketplace.models.Usuario;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Entidades em memória com os campos preenchidos como nas respostas reais da API
+final class Fixtures {
+
+    static final String[] CATEGORIAS = {"Celulares", "Informática", "Casa", "Moda", "Esporte", "Beleza"};
+    static final String[] MARCAS = {"Samsung", "Apple", "Motorola", "Philips", "Nike", "Natura", "Dell", "LG"};
+    static final String[] NOMES = {"Celular", "Notebook", "Fone de ouvido", "Cafeteira", "Tênis de corrida",
+            "Perfume", "Monitor", "Carregador", "Liquidificador", "Camiseta", "Teclado", "Mouse sem fio"};
+
+    private Fixtures() {
+    }
+
+    static Usuario usuario(long id) {
+        Usuario usuario = new Usuario();
+        usuario.setId(id);
+        usuario.setNome("Usuário " + id);
+        usuario.setEmail("usuario" + id + "@nalojatem.com.br");
+        return usuario;
+    }
+
+    static Loja loja(long id, int quantidadeProdutos) {
+        Loja loja = new Loja();
+        loja.setId(id);
+        loja.setNome("Loja " + id);
+        loja.setCnpj(String.format("%014d", id));
+        loja.setDescricao("Loja de bairro com entrega rápida e os melhores preços da região");
+        loja.setTelefone("(11) 99999-0000");
+        loja.setEmail("contato" + id + "@loja.com.br");
+        loja.setAtivo(true);
+        loja.setDataCriacao(LocalDateTime.now());
+        loja.setUsuario(usuario(id));
+
+        Loja.EnderecoLoja endereco = new Loja.EnderecoLoja();
+        endereco.setRua("Rua das Flores");
+        endereco.setNumero("100");
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        endereco.setCep("01001-000");
+        loja.setEndereco(endereco);
+
+        List<Produto> produtos = new ArrayList<>(quantidadeProdutos);
+        for (int i = 0; i < quantidadeProdutos; i++) {
+            produtos.add(produto(id * 1000 + i, loja));
+        }
+        loja.setProdutos(produtos);
+        return loja;
+    }
+
+    static Produto produto(long id, Loja loja) {
+        int i = (int) id;
+        Produto produto = new Produto();
+        produto.setId(id);
+        produto.setLoja(loja);
+        produto.setNome(NOMES[i % NOMES.length] + " " + MARCAS[i % MARCAS.length] + " modelo " + id);
+        produto.setDescricao("Produto original com garantia de 12 meses, nota fiscal e envio imediato");
+        produto.setPreco(BigDecimal.valueOf(10 + (id * 37) % 5000, 2).add(BigDecimal.TEN));
+        produto.setQuantidade(50L);
+        produto.setCategoria(CATEGORIAS[i % CATEGORIAS.length]);
+        produto.setMarca(MARCAS[i % MARCAS.length]);
+        produto.setModelo("M" + id);
+        produto.setDestaque(id % 10 == 0);
+        produto.setAtivo(true);
+        produto.setTotalVendas(i % 500);
+        produto.setDataCriacao(LocalDateTime.now());
+        return produto;
+    }
+
+    static Carrinho carrinho(int quantidadeItens) {
+        Carrinho carrinho = new Carrinho();
+        carrinho.setId(1L);
+        carrinho.setUsuario(usuario(1));
+        Loja loja = loja(1, 0);
+        List<ItemCarrinho> itens = new ArrayList<>(quantidadeItens);
+        for (int i = 0; i < quantidadeItens; i++) {
+            ItemCarrinho item = new ItemCarrinho();
+            item.setId((long) i);
+            item.setCarrinho(carrinho);
+            item.setProduto(produto(i, loja));
+            item.setQuantidade(1 + i % 3);
+            item.setPrecoUnitario(item.getProduto().getPreco());
+            itens.add(item);
+        }
+        carrinho.setItens(itens);
+        return carrinho;
+    }
+}
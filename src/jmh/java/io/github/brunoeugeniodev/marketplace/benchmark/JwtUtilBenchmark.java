@@ -0,0 +1,41 @@
+package io.github.brunoeugeniodev.marketplace.benchmark;
+
+import io.github.brunoeugeniodev.marketplace.config.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// Validação do token feita pelo JwtAuthenticationFilter em toda requisição autenticada
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        jwtUtil = new JwtUtil();
+        // Mesmos valores padrão dos @Value da classe
+        ReflectionTestUtils.setField(jwtUtil, "secret", "mySecretKeyForJWTGenerationInMarketplaceApplication2024");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        ReflectionTestUtils.setField(jwtUtil, "issuer", "marketplace-api");
+        ReflectionTestUtils.setField(jwtUtil, "refreshExpiration", 604800000L);
+        token = jwtUtil.generateToken("usuario1@nalojatem.com.br", "ROLE_USER");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.brunoeugeniodev.marketplace.benchmark;
+
+import io.github.brunoeugeniodev.marketplace.config.ModelMapperConfig;
+import io.github.brunoeugeniodev.marketplace.dto.CarrinhoDTO;
+import io.github.brunoeugeniodev.marketplace.dto.LojaDTO;
+import io.github.brunoeugeniodev.marketplace.dto.ProdutoDTO;
+import io.github.brunoeugeniodev.marketplace.dto.UsuarioDTO;
+import io.github.brunoeugeniodev.marketplace.models.Carrinho;
+import io.github.brunoeugeniodev.marketplace.models.Loja;
+import io.github.brunoeugeniodev.marketplace.models.Produto;
+import io.github.brunoeugeniodev.marketplace.models.Usuario;
+import io.github.brunoeugeniodev.marketplace.util.MapeamentoModelMapper;
+import io.github.brunoeugeniodev.marketplace.util.MapperUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Conversões entidade -> DTO feitas em toda listagem (catálogo, busca, lojas) e no carrinho.
+// Os métodos modelMapper* medem a implementação anterior (MapeamentoModelMapper) nas mesmas entradas.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperUtilBenchmark {
+
+    private MapperUtil mapperUtil;
+    private MapeamentoModelMapper modelMapper;
+    private Produto produto;
+    private Loja loja;
+    private List<Produto> produtos;
+    private List<Loja> lojas;
+    private Carrinho carrinho;
+    private Usuario usuario;
+
+    @Setup
+    public void preparar() {
+        mapperUtil = new MapperUtil(new ModelMapperConfig().modelMapper());
+        modelMapper = new MapeamentoModelMapper();
+        loja = Fixtures.loja(1, 20);
+        produto = loja.getProdutos().get(0);
+        produtos = Fixtures.loja(2, 50).getProdutos();
+        lojas = List.of(Fixtures.loja(3, 5), Fixtures.loja(4, 5), Fixtures.loja(5, 5), Fixtures.loja(6, 5),
+                Fixtures.loja(7, 5), Fixtures.loja(8, 5), Fixtures.loja(9, 5), Fixtures.loja(10, 5));
+        carrinho = Fixtures.carrinho(10);
+        usuario = Fixtures.usuario(1);
+        usuario.setRoles(List.of("ROLE_USER"));
+    }
+
+    @Benchmark
+    public ProdutoDTO toProdutoDTO() {
+        return mapperUtil.toProdutoDTO(produto);
+    }
+
+    @Benchmark
+    public ProdutoDTO modelMapperProdutoDTO() {
+        return modelMapper.toProdutoDTO(produto);
+    }
+
+    @Benchmark
+    public LojaDTO toLojaDTO() {
+        return mapperUtil.toLojaDTO(loja);
+    }
+
+    @Benchmark
+    public LojaDTO modelMapperLojaDTO() {
+        return modelMapper.toLojaDTO(loja);
+    }
+
+    // Página típica da busca/catálogo: 50 produtos
+    @Benchmark
+    public List<ProdutoDTO> listaProdutos() {
+        return mapperUtil.toProdutoDTOList(produtos);
+    }
+
+    @Benchmark
+    public List<ProdutoDTO> modelMapperListaProdutos() {
+        return modelMapper.mapList(produtos, ProdutoDTO.class);
+    }
+
+    @Benchmark
+    public List<LojaDTO> listaLojas() {
+        return mapperUtil.toLojaDTOList(lojas);
+    }
+
+    @Benchmark
+    public List<LojaDTO> modelMapperListaLojas() {
+        return modelMapper.mapList(lojas, LojaDTO.class);
+    }
+
+    // Carrinho com 10 itens, convertido a cada operação do carrinho
+    @Benchmark
+    public CarrinhoDTO carrinho() {
+        return mapperUtil.mapCarrinhoToDTO(carrinho);
+    }
+
+    @Benchmark
+    public CarrinhoDTO modelMapperCarrinho() {
+        return modelMapper.mapCarrinhoToDTO(carrinho);
+    }
+
+    @Benchmark
+    public UsuarioDTO usuario() {
+        return mapperUtil.toUsuarioDTO(usuario);
+    }
+
+    @Benchmark
+    public UsuarioDTO modelMapperUsuario() {
+        return modelMapper.toUsuarioDTO(usuario);
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.brunoeugeniodev.marketplace.config;
+
+import io.github.brunoeugeniodev.marketplace.service.ModoBusca;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// Executa os scripts SQL que o ddl-auto do Hibernate não cobre (colunas geradas, índices especiais).
+// Roda depois do schema update e antes do servidor web começar a aceitar requisições.
+// Extensões não são criadas por padrão (exigem privilégio de CREATE no banco): o DBA roda
+// db/extensao-trigram.sql, ou busca.fuzzy.criar-extensao=true quando o usuário da aplicação pode.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BancoDadosInicializador implements SmartInitializingSingleton {
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${busca.modo:indice}")
+    private ModoBusca modoBusca;
+
+    @Value("${busca.fuzzy.habilitado:true}")
+    private boolean fuzzyHabilitado;
+
+    @Value("${busca.fuzzy.criar-extensao:false}")
+    private boolean criarExtensaoTrigram;
+
+    // Lido pelo BuscaService: sem pg_trgm a busca por similaridade fica desligada
+    private volatile boolean trigramDisponivel;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        executarScript("db/sequencias.sql");
+        executarScript("db/catalogo.sql");
+        if (modoBusca == ModoBusca.FULLTEXT) {
+            executarScript("db/busca-fulltext.sql");
+        }
+        if (fuzzyHabilitado) {
+            if (criarExtensaoTrigram) {
+                executarScript("db/extensao-trigram.sql");
+            }
+            trigramDisponivel = extensaoInstalada("pg_trgm");
+            if (trigramDisponivel) {
+                executarScript("db/busca-trigram.sql");
+            } else {
+                log.warn("Extensão pg_trgm não instalada: busca por similaridade desligada "
+                        + "(rode db/extensao-trigram.sql como DBA ou use busca.fuzzy.criar-extensao=true)");
+            }
+        }
+    }
+
+    public boolean isTrigramDisponivel() {
+        return trigramDisponivel;
+    }
+
+    private boolean extensaoInstalada(String nome) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_extension WHERE extname = ?)", Boolean.class, nome));
+    }
+
+    private void executarScript(String caminho) {
+        log.info("Executando script de banco: {}", caminho);
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource(caminho));
+        populator.setSqlScriptEncoding("UTF-8");
+        populator.execute(dataSource);
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.brunoeugeniodev.marketplace.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+
+// Cache de segundo nível do Hibernate (JCache sobre Caffeine). As regiões são criadas aqui, com tamanho e TTL
+// de cache.segundo-nivel.{regiao}.tamanho/ttl, e o Hibernate só usa as que existem (missing_cache_strategy=fail
+// nas propriedades). Cada região publica no Micrometer os acertos e faltas (cache.gets{cache=..., result=hit|miss}).
+@Configuration
+@Slf4j
+public class CacheSegundoNivelConfig {
+
+    // Regiões das entidades e coleções anotadas com @Cache(region = ...) e das consultas com cache
+    public static final String LOJAS = "lojas";
+    public static final String PRODUTOS = "produtos";
+    public static final String USUARIOS_ROLES = "usuarios.roles";
+    public static final String LOJAS_RECOMENDADAS = "consultas.lojas-recomendadas";
+
+    // Regiões internas do cache de consultas; a de timestamps não pode expirar antes dos resultados
+    private static final String CONSULTAS_PADRAO = "default-query-results-region";
+    private static final String TIMESTAMPS = "default-update-timestamps-region";
+
+    private record Regiao(long tamanho, Duration ttl) {
+    }
+
+    // Padrões (tamanho em entradas, ttl); sobrescritos pelas propriedades
+    private static final Map<String, Regiao> PADROES = Map.of(
+            LOJAS, new Regiao(5_000, Duration.ofMinutes(30)),
+            PRODUTOS, new Regiao(50_000, Duration.ofMinutes(30)),
+            USUARIOS_ROLES, new Regiao(10_000, Duration.ofMinutes(30)),
+            LOJAS_RECOMENDADAS, new Regiao(100, Duration.ofMinutes(5)),
+            CONSULTAS_PADRAO, new Regiao(1_000, Duration.ofMinutes(5)),
+            TIMESTAMPS, new Regiao(10_000, Duration.ZERO));
+
+    @Bean(destroyMethod = "close")
+    public CacheManager cacheSegundoNivel(Environment environment, MeterRegistry meterRegistry) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        PADROES.forEach((nome, padrao) -> {
+            String prefixo = "cache.segundo-nivel." + nome;
+            long tamanho = environment.getProperty(prefixo + ".tamanho", Long.class, padrao.tamanho());
+            Duration ttl = environment.getProperty(prefixo + ".ttl", Duration.class, padrao.ttl());
+
+            CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+            configuracao.setMaximumSize(OptionalLong.of(tamanho));
+            if (!ttl.isZero()) {
+                configuracao.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+            }
+            configuracao.setStatisticsEnabled(true);
+            // O provedor é compartilhado pela JVM; um contexto anterior (ex.: reinício do devtools) pode ter deixado a região
+            if (cacheManager.getCache(nome) != null) {
+                cacheManager.destroyCache(nome);
+            }
+            JCacheMetrics.monitor(meterRegistry, cacheManager.createCache(nome, configuracao));
+            log.debug("Região do cache de segundo nível {}: {} entradas, ttl {}", nome, tamanho, ttl);
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivelHibernate(CacheManager cacheSegundoNivel) {
+        return propriedades -> propriedades.put(ConfigSettings.CACHE_MANAGER, cacheSegundoNivel);
+    }
+}
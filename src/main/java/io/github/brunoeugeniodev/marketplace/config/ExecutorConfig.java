@@ -0,0 +1,24 @@
+package io.github.brunoeugeniodev.marketplace.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ExecutorConfig {
+
+    // Uma virtual thread por tarefa: os ramos da busca passam quase todo o tempo esperando o banco
+    @Bean(destroyMethod = "close")
+    public ExecutorService executorBusca() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    // Miniaturas de imagens: trabalho de CPU, então um pool pequeno e fixo de threads de plataforma
+    @Bean(destroyMethod = "close")
+    public ExecutorService executorImagens(@Value("${imagens.threads:2}") int threads) {
+        return Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("imagens-", 0).daemon().factory());
+    }
+}
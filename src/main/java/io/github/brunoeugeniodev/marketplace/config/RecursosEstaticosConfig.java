@@ -0,0 +1,54 @@
+package io.github.brunoeugeniodev.marketplace.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.time.Duration;
+import java.util.List;
+
+// CSS, JS e imagens servidos com o hash do conteúdo no nome (style-<md5>.css) e cache imutável de um ano:
+// quando o arquivo muda, a URL muda. As referências nos templates via @{...} são reescritas pelo
+// ResourceUrlEncodingFilter. Se existir o .gz gerado no build (CompressorRecursos), ele é servido
+// para quem aceita gzip. Referência escrita à mão, sem @{...}, não ganha o hash e fica um ano no cache.
+// Os placeholders são a exceção: vêm de templates e fragmentos (CacheFragmentos não reescreve URLs) sem hash,
+// então têm cache curto e sem immutable para que trocar a imagem chegue ao navegador.
+@Configuration
+public class RecursosEstaticosConfig implements WebMvcConfigurer {
+
+    private static final List<String> PASTAS = List.of("estilos", "scripts", "imagens");
+
+    // Mais específico que /imagens/**, então tem precedência
+    private static final String PLACEHOLDERS = "/imagens/placeholder*.png";
+
+    // Em desenvolvimento (false) o hash é recalculado a cada requisição, então editar um CSS já muda a URL
+    @Value("${spring.web.resources.chain.cache:true}")
+    private boolean cacheCadeia;
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler(PLACEHOLDERS)
+                .addResourceLocations("classpath:/static/imagens/")
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(1)).cachePublic())
+                .resourceChain(cacheCadeia);
+        for (String pasta : PASTAS) {
+            registry.addResourceHandler("/" + pasta + "/**")
+                    .addResourceLocations("classpath:/static/" + pasta + "/")
+                    .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                    .resourceChain(cacheCadeia)
+                    .addResolver(new EncodedResourceResolver())
+                    .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+        }
+    }
+
+    @Bean
+    public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+        return new ResourceUrlEncodingFilter();
+    }
+}
@@ -34,7 +34,7 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // Recursos estáticos
                         .requestMatchers("/css/**", "/js/**", "/images/**", "/webjars/**",
-                                "/estilos/**", "/scripts/**", "/imagens/**", "/error").permitAll()
+                                "/estilos/**", "/scripts/**", "/imagens/**", "/midia/**", "/error").permitAll()
 
                         // Páginas públicas
                         .requestMatchers("/", "/login", "/registro", "/registro/**",
@@ -43,7 +43,11 @@ public class SecurityConfig {
                         // APIs públicas
                         .requestMatchers("/api/auth/**", "/api/busca/**",
                                 "/api/produtos/public/**", "/api/lojas/public/**",
-                                "/api/public/**").permitAll()
+                                "/api/public/**", "/api/cep/**").permitAll()
+
+                        // Monitoramento: health público, métricas só para administradores
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
 
                         // Acesso à documentação (se houver)
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
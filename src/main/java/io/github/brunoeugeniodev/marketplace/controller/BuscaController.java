@@ -1,15 +1,28 @@
 package io.github.brunoeugeniodev.marketplace.controller;
 
+import io.github.brunoeugeniodev.marketplace.dto.FacetasResultDTO;
+import io.github.brunoeugeniodev.marketplace.dto.LojaDTO;
+import io.github.brunoeugeniodev.marketplace.dto.ProdutoDTO;
 import io.github.brunoeugeniodev.marketplace.dto.SearchResultDTO;
-import io.github.brunoeugeniodev.marketplace.service.LojaService;
-import io.github.brunoeugeniodev.marketplace.service.ProdutoService;
-import io.github.brunoeugeniodev.marketplace.util.MapperUtil;
+import io.github.brunoeugeniodev.marketplace.dto.SugestaoDTO;
+import io.github.brunoeugeniodev.marketplace.service.BuscaService;
+import io.github.brunoeugeniodev.marketplace.service.CacheBusca;
+import io.github.brunoeugeniodev.marketplace.service.ExecutorBusca;
+import io.github.brunoeugeniodev.marketplace.service.FacetaService;
+import io.github.brunoeugeniodev.marketplace.service.OrdenacaoBusca;
+import io.github.brunoeugeniodev.marketplace.service.SugestaoService;
+import io.github.brunoeugeniodev.marketplace.util.PaginaCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @RestController
@@ -17,23 +30,105 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class BuscaController {
 
-    private final LojaService lojaService;
-    private final ProdutoService produtoService;
-    private final MapperUtil mapperUtil;
+    private final BuscaService buscaService;
+    private final SugestaoService sugestaoService;
+    private final FacetaService facetaService;
+    private final CacheBusca cacheBusca;
+    private final ExecutorBusca executorBusca;
 
+    // Sem cursores, retorna a primeira página de lojas e de produtos.
+    // Com cursor, retorna só a(s) lista(s) cujo cursor foi informado.
     @GetMapping
-    public ResponseEntity<SearchResultDTO> buscar(@RequestParam String q) {
+    public ResponseEntity<SearchResultDTO> buscar(@RequestParam String q,
+                                                  @RequestParam(required = false) Integer limite,
+                                                  @RequestParam(required = false) String ordem,
+                                                  @RequestParam(required = false) String cursorLojas,
+                                                  @RequestParam(required = false) String cursorProdutos) {
         if (q == null || q.trim().isEmpty()) {
             return ResponseEntity.badRequest().build();
         }
 
         log.info("Realizando busca por: {}", q);
+        int limiteNormalizado = buscaService.normalizarLimite(limite);
+        OrdenacaoBusca ordenacao = OrdenacaoBusca.de(ordem);
+        boolean primeiraPagina = cursorLojas == null && cursorProdutos == null;
 
-        SearchResultDTO resultado = SearchResultDTO.builder()
-                .lojas(mapperUtil.mapList(lojaService.buscarPorTermo(q), io.github.brunoeugeniodev.marketplace.dto.LojaDTO.class))
-                .produtos(mapperUtil.mapList(produtoService.buscarPorTermo(q), io.github.brunoeugeniodev.marketplace.dto.ProdutoDTO.class))
-                .build();
+        SearchResultDTO.SearchResultDTOBuilder resultado = SearchResultDTO.builder()
+                .lojas(List.of())
+                .produtos(List.of())
+                .modo(buscaService.getModo().name().toLowerCase());
 
-        return ResponseEntity.ok(resultado);
+        // Os dois ramos rodam em paralelo; o cache é consultado antes de abrir transação
+        CompletableFuture<PaginaCursor<LojaDTO>> lojasFuturo = primeiraPagina || cursorLojas != null
+                ? cacheBusca.lojas(q, cursorLojas, limiteNormalizado, () -> executorBusca.iniciar(
+                        () -> executorBusca.emLeitura(() -> buscaService.buscarLojas(q, cursorLojas, limiteNormalizado))))
+                : null;
+        CompletableFuture<PaginaCursor<ProdutoDTO>> produtosFuturo = primeiraPagina || cursorProdutos != null
+                ? cacheBusca.produtos(q, ordenacao, cursorProdutos, limiteNormalizado, () -> executorBusca.iniciar(
+                        () -> executorBusca.emLeitura(
+                                () -> buscaService.buscarProdutos(q, ordenacao, cursorProdutos, limiteNormalizado))))
+                : null;
+
+        boolean parcial = false;
+        if (lojasFuturo != null) {
+            PaginaCursor<LojaDTO> lojas = executorBusca.aguardar(lojasFuturo, "lojas");
+            if (lojas != null) {
+                resultado.lojas(lojas.itens())
+                        .proximoCursorLojas(lojas.proximoCursor())
+                        .totalLojasEstimado(lojas.totalEstimado());
+            } else {
+                parcial = true;
+            }
+        }
+        if (produtosFuturo != null) {
+            PaginaCursor<ProdutoDTO> produtos = executorBusca.aguardar(produtosFuturo, "produtos");
+            if (produtos != null) {
+                resultado.produtos(produtos.itens())
+                        .proximoCursorProdutos(produtos.proximoCursor())
+                        .totalProdutosEstimado(produtos.totalEstimado());
+            } else {
+                parcial = true;
+            }
+        }
+
+        return ResponseEntity.ok(resultado.parcial(parcial).build());
+    }
+
+    // Filtros repetíveis (?categoria=A&categoria=B) e contagens por categoria, marca e faixa de preço
+    @GetMapping("/facetas")
+    public ResponseEntity<FacetasResultDTO> buscarFacetado(@RequestParam(required = false) String q,
+                                                           @RequestParam(required = false) List<String> categoria,
+                                                           @RequestParam(required = false) List<String> marca,
+                                                           @RequestParam(required = false) List<String> faixaPreco,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(required = false) Integer limite) {
+        Map<String, Set<String>> filtros = new HashMap<>();
+        if (categoria != null) {
+            filtros.put(FacetaService.CATEGORIA, new HashSet<>(categoria));
+        }
+        if (marca != null) {
+            filtros.put(FacetaService.MARCA, new HashSet<>(marca));
+        }
+        if (faixaPreco != null) {
+            filtros.put(FacetaService.FAIXA_PRECO, new HashSet<>(faixaPreco));
+        }
+
+        FacetaService.ResultadoFacetado resultado = facetaService.buscar(q, filtros, cursor,
+                buscaService.normalizarLimite(limite));
+
+        return ResponseEntity.ok(FacetasResultDTO.builder()
+                .produtos(resultado.pagina().itens())
+                .proximoCursor(resultado.pagina().proximoCursor())
+                .total(resultado.pagina().totalEstimado())
+                .facetas(resultado.facetas())
+                .contagensAproximadas(resultado.aproximado())
+                .build());
+    }
+
+    // Autocomplete: responde só da memória, sem ir ao banco
+    @GetMapping("/sugestoes")
+    public ResponseEntity<List<SugestaoDTO>> sugestoes(@RequestParam String prefixo,
+                                                       @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(sugestaoService.sugerir(prefixo, limite));
     }
-}
\ No newline at end of file
+}
@@ -4,17 +4,22 @@ import io.github.brunoeugeniodev.marketplace.dto.CarrinhoDTO;
 import io.github.brunoeugeniodev.marketplace.dto.ItemCarrinhoRequestDTO;
 import io.github.brunoeugeniodev.marketplace.dto.ItemCarrinhoDTO;
 import io.github.brunoeugeniodev.marketplace.models.Carrinho;
+import io.github.brunoeugeniodev.marketplace.models.ItemCarrinho;
 import io.github.brunoeugeniodev.marketplace.models.Usuario;
 import io.github.brunoeugeniodev.marketplace.service.CarrinhoService;
 import io.github.brunoeugeniodev.marketplace.service.UsuarioService;
 import io.github.brunoeugeniodev.marketplace.util.MapperUtil;
+import io.github.brunoeugeniodev.marketplace.util.RespostaCondicional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 @Slf4j
@@ -27,13 +32,14 @@ public class CarrinhoController {
     private final UsuarioService usuarioService;
     private final MapperUtil mapperUtil;
 
+    // Resposta privada (por usuário) com ETag pelo carrinho, itens e produtos; 304 sem mapear nem serializar
     @GetMapping
-    public ResponseEntity<CarrinhoDTO> getCarrinho(@AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<CarrinhoDTO> getCarrinho(@AuthenticationPrincipal UserDetails userDetails, WebRequest request) {
         Optional<Usuario> usuario = usuarioService.buscarPorEmail(userDetails.getUsername());
         if (usuario.isPresent()) {
             Carrinho carrinho = carrinhoService.obterCarrinhoCompleto(usuario.get());
-            CarrinhoDTO carrinhoDTO = mapperUtil.mapCarrinhoToDTO(carrinho);
-            return ResponseEntity.ok(carrinhoDTO);
+            return RespostaCondicional.responder(request, etag(carrinho), RespostaCondicional.PRIVADA,
+                    () -> mapperUtil.mapCarrinhoToDTO(carrinho));
         }
         return ResponseEntity.notFound().build();
     }
@@ -97,4 +103,27 @@ public class CarrinhoController {
         }
         return ResponseEntity.notFound().build();
     }
-}
\ No newline at end of file
+
+    // Itens são alterados sem tocar na linha do carrinho, então cada item e seu produto entram no ETag
+    private static String etag(Carrinho carrinho) {
+        List<Object> partes = new ArrayList<>();
+        partes.add("carrinho");
+        partes.add(carrinho.getId());
+        partes.add(carrinho.getDataAtualizacao());
+        if (carrinho.getUsuario() != null) {
+            partes.add(carrinho.getUsuario().getDataAtualizacao());
+        }
+        if (carrinho.getItens() != null) {
+            for (ItemCarrinho item : carrinho.getItens()) {
+                partes.add(item.getId());
+                partes.add(item.getQuantidade());
+                partes.add(item.getDataAtualizacao());
+                if (item.getProduto() != null) {
+                    partes.add(item.getProduto().getId());
+                    partes.add(item.getProduto().getDataAtualizacao());
+                }
+            }
+        }
+        return RespostaCondicional.etag(partes.toArray());
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.brunoeugeniodev.marketplace.controller;
+
+import io.github.brunoeugeniodev.marketplace.service.CepService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cep")
+@RequiredArgsConstructor
+public class CepController {
+
+    private final CepService cepService;
+
+    @GetMapping("/{cep}")
+    public ResponseEntity<?> buscar(@PathVariable String cep) {
+        if (!cep.replaceAll("\\D", "").matches("\\d{8}")) {
+            return ResponseEntity.badRequest().body(Map.of("error", "CEP deve ter 8 dígitos"));
+        }
+        if (!cepService.isDisponivel()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", "Consulta de CEP indisponível"));
+        }
+        return cepService.buscar(cep)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("error", "CEP não encontrado")));
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.brunoeugeniodev.marketplace.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.brunoeugeniodev.marketplace.dto.ProdutoDTO;
+import io.github.brunoeugeniodev.marketplace.service.ImportacaoProdutoService;
+import io.github.brunoeugeniodev.marketplace.service.ProdutoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Exportação do catálogo para parceiros que espelham os produtos. A resposta é escrita em fluxo
+// enquanto o banco é lido (ProdutoService.exportarCatalogo), então a memória usada não depende do total.
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+public class ExportacaoController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
+    // O da importação, para o arquivo exportado poder ser reimportado
+    private static final String SEPARADOR = String.valueOf(ImportacaoProdutoService.SEPARADOR_CSV);
+    private static final String CABECALHO_CSV = String.join(SEPARADOR, "id", "nome", "descricao", "preco",
+            "quantidade", "categoria", "marca", "modelo", "destaque", "disponivel", "lojaId", "lojaNome", "lojaCnpj",
+            "avaliacaoMedia", "totalVendas", "dataCriacao", "dataAtualizacao");
+
+    private final ProdutoService produtoService;
+    private final ObjectMapper objectMapper;
+
+    // O buffer é esvaziado para o cliente a cada N linhas, mesmo sem encher
+    @Value("${exportacao.flush-a-cada:1000}")
+    private int flushACada;
+
+    // formato = ndjson (padrão, um ProdutoDTO em JSON por linha) ou csv
+    @GetMapping("/produtos")
+    public ResponseEntity<?> exportarProdutos(@RequestParam(required = false) String formato) {
+        boolean csv;
+        if (formato == null || formato.equalsIgnoreCase("ndjson")) {
+            csv = false;
+        } else if (formato.equalsIgnoreCase("csv")) {
+            csv = true;
+        } else {
+            return ResponseEntity.badRequest().body(Map.of("error", "Formato inválido: use ndjson ou csv"));
+        }
+
+        StreamingResponseBody corpo = saida -> {
+            Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), 64 * 1024);
+            if (csv) {
+                escritor.write(CABECALHO_CSV);
+                escritor.write('\n');
+            }
+            int[] linhas = {0};
+            try {
+                produtoService.exportarCatalogo(produto -> {
+                    try {
+                        escritor.write(csv ? linhaCsv(produto) : objectMapper.writeValueAsString(produto));
+                        escritor.write('\n');
+                        if (++linhas[0] % flushACada == 0) {
+                            escritor.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // Cliente desconectou: a exceção encerra a leitura e fecha o cursor
+                throw e.getCause();
+            }
+            escritor.flush();
+        };
+
+        String arquivo = csv ? "produtos.csv" : "produtos.ndjson";
+        return ResponseEntity.ok()
+                .contentType(csv ? CSV : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(arquivo).build().toString())
+                .body(corpo);
+    }
+
+    private static String linhaCsv(ProdutoDTO produto) {
+        return Stream.of(produto.getId(), produto.getNome(), produto.getDescricao(), produto.getPreco(),
+                        produto.getQuantidade(), produto.getCategoria(), produto.getMarca(), produto.getModelo(),
+                        produto.getDestaque(), produto.getDisponivel(), produto.getLojaId(), produto.getLojaNome(),
+                        produto.getLojaCnpj(), produto.getAvaliacaoMedia(), produto.getTotalVendas(),
+                        produto.getDataCriacao(), produto.getDataAtualizacao())
+                .map(ExportacaoController::campoCsv)
+                .collect(Collectors.joining(SEPARADOR));
+    }
+
+    // null vira campo vazio; aspas, separador e quebras de linha (descrições) pedem o campo entre aspas
+    private static String campoCsv(Object valor) {
+        String texto = Objects.toString(valor, "");
+        if (texto.contains(SEPARADOR) || texto.contains("\"") || texto.contains("\n") || texto.contains("\r")) {
+            return "\"" + texto.replace("\"", "\"\"") + "\"";
+        }
+        return texto;
+    }
+}
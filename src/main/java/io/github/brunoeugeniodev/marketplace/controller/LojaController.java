@@ -4,23 +4,29 @@ import io.github.brunoeugeniodev.marketplace.dto.LojaCreateDTO;
 import io.github.brunoeugeniodev.marketplace.dto.LojaDTO;
 import io.github.brunoeugeniodev.marketplace.dto.ProdutoDTO;
 import io.github.brunoeugeniodev.marketplace.models.Loja;
-import io.github.brunoeugeniodev.marketplace.models.Produto;
 import io.github.brunoeugeniodev.marketplace.models.Usuario;
+import io.github.brunoeugeniodev.marketplace.service.ArmazenamentoImagens;
 import io.github.brunoeugeniodev.marketplace.service.LojaService;
+import io.github.brunoeugeniodev.marketplace.service.OrdenacaoLojas;
 import io.github.brunoeugeniodev.marketplace.service.ProdutoService;
 import io.github.brunoeugeniodev.marketplace.service.UsuarioService;
+import io.github.brunoeugeniodev.marketplace.service.Vitrine;
 import io.github.brunoeugeniodev.marketplace.util.MapperUtil;
+import io.github.brunoeugeniodev.marketplace.util.PaginaCursor;
+import io.github.brunoeugeniodev.marketplace.util.RespostaCondicional;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -36,6 +42,8 @@ public class LojaController {
     private final UsuarioService usuarioService;
     private final ProdutoService produtoService;
     private final MapperUtil mapperUtil;
+    private final Vitrine vitrine;
+    private final ArmazenamentoImagens armazenamentoImagens;
 
     @PostMapping
     public ResponseEntity<?> criarLoja(
@@ -57,44 +65,51 @@ public class LojaController {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
     }
 
+    // Diretório paginado: ordem = relevancia, avaliacao, novas ou nome; cidade/estado opcionais
     @GetMapping
-    public ResponseEntity<List<LojaDTO>> listarLojas() {
-        List<Loja> lojas = lojaService.listarLojasAtivas();
-        List<LojaDTO> lojasDTO = mapperUtil.mapList(lojas, LojaDTO.class);
-        return ResponseEntity.ok(lojasDTO);
+    public ResponseEntity<PaginaCursor<LojaDTO>> listarLojas(@RequestParam(required = false) String ordem,
+                                                             @RequestParam(required = false) String cidade,
+                                                             @RequestParam(required = false) String estado,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(lojaService.listarDiretorio(OrdenacaoLojas.de(ordem), cidade, estado,
+                cursor, lojaService.normalizarLimite(limite)));
     }
 
+    // O contador de produtos é atualizado por UPDATE direto (não mexe em dataAtualizacao), por isso entra no ETag
     @GetMapping("/{id}")
-    public ResponseEntity<LojaDTO> listarPorId(@PathVariable Long id) {
+    public ResponseEntity<LojaDTO> listarPorId(@PathVariable Long id, WebRequest request) {
         Optional<Loja> optionalLoja = lojaService.buscarPorIdAtiva(id);
         if (optionalLoja.isPresent()) {
-            LojaDTO lojaDTO = mapperUtil.toLojaDTO(optionalLoja.get());
-            return ResponseEntity.ok(lojaDTO);
+            Loja loja = optionalLoja.get();
+            Usuario proprietario = loja.getUsuario();
+            String etag = RespostaCondicional.etag("loja", loja.getId(), loja.getDataAtualizacao(),
+                    loja.getQuantidadeProdutosAtivos(),
+                    proprietario != null ? proprietario.getDataAtualizacao() : null);
+            return RespostaCondicional.responder(request, etag, RespostaCondicional.PUBLICA,
+                    () -> mapperUtil.toLojaDTO(loja));
         } else {
             return ResponseEntity.notFound().build();
         }
     }
 
     @GetMapping("/{id}/produtos")
-    public ResponseEntity<List<ProdutoDTO>> listarProdutosDaLoja(@PathVariable Long id) {
-        List<Produto> produtos = produtoService.listarProdutosPorLoja(id);
-        List<ProdutoDTO> produtosDTO = mapperUtil.mapList(produtos, ProdutoDTO.class);
-        return ResponseEntity.ok(produtosDTO);
+    public ResponseEntity<List<ProdutoDTO>> listarProdutosDaLoja(@PathVariable Long id, WebRequest request) {
+        return RespostaCondicional.responder(request, produtoService.etagProdutosPorLoja(id),
+                RespostaCondicional.PUBLICA, () -> produtoService.listarProdutosPorLoja(id));
     }
 
     @GetMapping("/buscar")
     public ResponseEntity<List<LojaDTO>> buscarLojas(@RequestParam String nome) {
         List<Loja> lojas = lojaService.buscarPorNome(nome);
-        List<LojaDTO> lojasDTO = mapperUtil.mapList(lojas, LojaDTO.class);
+        List<LojaDTO> lojasDTO = mapperUtil.toLojaDTOList(lojas);
         return ResponseEntity.ok(lojasDTO);
     }
 
+    // Lida do instantâneo da Vitrine, sem consulta ao banco
     @GetMapping("/recomendadas")
     public ResponseEntity<List<LojaDTO>> listarRecomendadas() {
-        Pageable pageable = PageRequest.of(0, 5);
-        List<Loja> lojas = lojaService.listarLojasRecomendadas(pageable).getContent();
-        List<LojaDTO> lojasDTO = mapperUtil.mapList(lojas, LojaDTO.class);
-        return ResponseEntity.ok(lojasDTO);
+        return ResponseEntity.ok(vitrine.atual().lojasRecomendadas());
     }
 
     @GetMapping("/minhas-lojas")
@@ -107,7 +122,7 @@ public class LojaController {
             Optional<Usuario> usuario = usuarioService.buscarPorEmail(authentication.getName());
             if (usuario.isPresent()) {
                 List<Loja> lojas = lojaService.listarLojasDoUsuario(usuario.get());
-                List<LojaDTO> lojasDTO = mapperUtil.mapList(lojas, LojaDTO.class);
+                List<LojaDTO> lojasDTO = mapperUtil.toLojaDTOList(lojas);
                 return ResponseEntity.ok(lojasDTO);
             }
             return ResponseEntity.notFound().build();
@@ -157,6 +172,34 @@ public class LojaController {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
     }
 
+    // Upload do logo (JPEG, PNG ou GIF): guardado localmente, com miniaturas geradas em segundo plano
+    @PostMapping(value = "/{id}/foto", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> enviarFotoLoja(
+            @AuthenticationPrincipal org.springframework.security.core.userdetails.UserDetails userDetails,
+            @PathVariable Long id,
+            @RequestParam("arquivo") MultipartFile arquivo) {
+
+        Optional<Usuario> usuario = usuarioService.buscarPorEmail(userDetails.getUsername());
+        if (usuario.isPresent()) {
+            // Confere a posse antes de gravar o arquivo
+            boolean dono = lojaService.listarLojasDoUsuario(usuario.get()).stream().anyMatch(l -> l.getId().equals(id));
+            if (!dono) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Você não tem permissão para editar esta loja"));
+            }
+            try {
+                String fotoUrl = armazenamentoImagens.salvar(arquivo);
+                Loja lojaAtualizada = lojaService.atualizarFotoLoja(id, fotoUrl, usuario.get());
+                return ResponseEntity.ok(mapperUtil.toLojaDTO(lojaAtualizada));
+            } catch (IOException e) {
+                log.warn("Falha ao salvar a foto da loja {}: {}", id, e.getMessage());
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", "Falha ao salvar a imagem"));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+        }
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    }
+
     @PutMapping("/{id}/desativar")
     public ResponseEntity<?> desativarLoja(
             @AuthenticationPrincipal org.springframework.security.core.userdetails.UserDetails userDetails,
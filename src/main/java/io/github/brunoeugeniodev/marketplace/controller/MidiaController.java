@@ -0,0 +1,94 @@
+package io.github.brunoeugeniodev.marketplace.controller;
+
+import io.github.brunoeugeniodev.marketplace.service.ArmazenamentoImagens;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+// Serve as imagens enviadas (ArmazenamentoImagens). As URLs são endereçadas pelo conteúdo, então a resposta
+// é imutável por um ano. O arquivo vai do disco para o socket sem passar pela heap: pelo sendfile do Tomcat
+// quando o conector suporta, senão por FileChannel.transferTo.
+@RestController
+@RequiredArgsConstructor
+public class MidiaController {
+
+    private static final CacheControl IMUTAVEL = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+    // Miniatura ainda não gerada: serve o original por pouco tempo, até a miniatura ficar pronta
+    private static final CacheControl PROVISORIA = CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic();
+
+    private final ArmazenamentoImagens armazenamentoImagens;
+
+    @GetMapping("/midia/{variante}/{arquivo:.+}")
+    public void servir(@PathVariable String variante, @PathVariable String arquivo,
+                       HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path caminho = armazenamentoImagens.localizar(variante, arquivo);
+        if (caminho == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        CacheControl cache = IMUTAVEL;
+        if (Files.notExists(caminho) && !ArmazenamentoImagens.ORIGINAL.equals(variante)) {
+            caminho = armazenamentoImagens.localizarOriginal(arquivo.substring(0, arquivo.indexOf('.')));
+            cache = PROVISORIA;
+        }
+        if (caminho == null || Files.notExists(caminho)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        // Hash do conteúdo + variante realmente servida: quando a miniatura fica pronta o ETag muda,
+        // senão a revalidação do original provisório daria 304 e o cliente nunca trocaria de arquivo
+        String servida = cache == IMUTAVEL ? variante : ArmazenamentoImagens.ORIGINAL;
+        String etag = "\"" + servida + "-" + caminho.getFileName() + "\"";
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cache.getHeaderValue());
+            return;
+        }
+
+        long tamanho = Files.size(caminho);
+        response.setContentType(tipo(caminho));
+        response.setContentLengthLong(tamanho);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cache.getHeaderValue());
+
+        if (Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))) {
+            request.setAttribute("org.apache.tomcat.sendfile.filename", caminho.toAbsolutePath().toString());
+            request.setAttribute("org.apache.tomcat.sendfile.start", 0L);
+            request.setAttribute("org.apache.tomcat.sendfile.end", tamanho);
+            return;
+        }
+        try (FileChannel canal = FileChannel.open(caminho, StandardOpenOption.READ)) {
+            WritableByteChannel saida = Channels.newChannel(response.getOutputStream());
+            long enviado = 0;
+            while (enviado < tamanho) {
+                enviado += canal.transferTo(enviado, tamanho - enviado, saida);
+            }
+        }
+    }
+
+    private static String tipo(Path caminho) {
+        String nome = caminho.getFileName().toString();
+        if (nome.endsWith(".png")) {
+            return MediaType.IMAGE_PNG_VALUE;
+        }
+        if (nome.endsWith(".gif")) {
+            return MediaType.IMAGE_GIF_VALUE;
+        }
+        return MediaType.IMAGE_JPEG_VALUE;
+    }
+}
@@ -1,22 +1,34 @@
 package io.github.brunoeugeniodev.marketplace.controller;
 
 import io.github.brunoeugeniodev.marketplace.dto.*;
+import io.github.brunoeugeniodev.marketplace.exception.ResourceNotFoundException;
 import io.github.brunoeugeniodev.marketplace.models.Loja;
 import io.github.brunoeugeniodev.marketplace.models.Produto;
 import io.github.brunoeugeniodev.marketplace.models.Usuario;
+import io.github.brunoeugeniodev.marketplace.service.ArmazenamentoImagens;
+import io.github.brunoeugeniodev.marketplace.service.ImportacaoProdutoService;
 import io.github.brunoeugeniodev.marketplace.service.LojaService;
 import io.github.brunoeugeniodev.marketplace.service.ProdutoService;
 import io.github.brunoeugeniodev.marketplace.service.UsuarioService;
 import io.github.brunoeugeniodev.marketplace.util.MapperUtil;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -32,20 +44,19 @@ public class MinhaLojaController {
     private final LojaService lojaService;
     private final UsuarioService usuarioService;
     private final ProdutoService produtoService;
+    private final ImportacaoProdutoService importacaoProdutoService;
+    private final ArmazenamentoImagens armazenamentoImagens;
     private final MapperUtil mapperUtil;
 
     @GetMapping("/verificar")
     public ResponseEntity<Map<String, Object>> verificarLoja(@AuthenticationPrincipal UserDetails userDetails) {
         Optional<Usuario> usuario = usuarioService.buscarPorEmail(userDetails.getUsername());
         if (usuario.isPresent()) {
-            boolean temLoja = !usuario.get().getLojas().isEmpty();
+            Optional<Loja> loja = lojaService.buscarLojaDoUsuario(usuario.get());
 
             Map<String, Object> response = new HashMap<>();
-            response.put("temLoja", temLoja);
-            if (temLoja) {
-                Loja loja = usuario.get().getLojas().get(0);
-                response.put("loja", mapperUtil.toLojaDTO(loja));
-            }
+            response.put("temLoja", loja.isPresent());
+            loja.ifPresent(l -> response.put("loja", mapperUtil.toLojaDTO(l)));
 
             return ResponseEntity.ok(response);
         }
@@ -55,9 +66,9 @@ public class MinhaLojaController {
     @GetMapping
     public ResponseEntity<?> getMinhaLoja(@AuthenticationPrincipal UserDetails userDetails) {
         Optional<Usuario> usuario = usuarioService.buscarPorEmail(userDetails.getUsername());
-        if (usuario.isPresent() && !usuario.get().getLojas().isEmpty()) {
-            Loja loja = usuario.get().getLojas().get(0);
-            return ResponseEntity.ok(mapperUtil.toLojaDTO(loja));
+        Optional<Loja> loja = usuario.flatMap(lojaService::buscarLojaDoUsuario);
+        if (loja.isPresent()) {
+            return ResponseEntity.ok(mapperUtil.toLojaDTO(loja.get()));
         }
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Loja não encontrada"));
     }
@@ -74,9 +85,10 @@ public class MinhaLojaController {
                 Loja loja = mapperUtil.toLojaEntity(request);
 
                 // Verificar se usuário já tem loja
-                if (!usuario.get().getLojas().isEmpty()) {
+                Optional<Loja> lojaDoUsuario = lojaService.buscarLojaDoUsuario(usuario.get());
+                if (lojaDoUsuario.isPresent()) {
                     // Atualizar loja existente
-                    Loja lojaExistente = usuario.get().getLojas().get(0);
+                    Loja lojaExistente = lojaDoUsuario.get();
                     Loja lojaAtualizada = mapperUtil.toLojaEntity(request);
                     Loja lojaEditada = lojaService.atualizarLoja(lojaExistente.getId(), lojaAtualizada, usuario.get());
                     LojaDTO lojaDTO = mapperUtil.toLojaDTO(lojaEditada);
@@ -97,11 +109,9 @@ public class MinhaLojaController {
     @GetMapping("/produtos")
     public ResponseEntity<?> getProdutosDaLoja(@AuthenticationPrincipal UserDetails userDetails) {
         Optional<Usuario> usuario = usuarioService.buscarPorEmail(userDetails.getUsername());
-        if (usuario.isPresent() && !usuario.get().getLojas().isEmpty()) {
-            Loja loja = usuario.get().getLojas().get(0);
-            List<Produto> produtos = produtoService.listarProdutosPorLoja(loja.getId());
-            List<ProdutoDTO> produtosDTO = mapperUtil.mapList(produtos, ProdutoDTO.class);
-            return ResponseEntity.ok(produtosDTO);
+        Optional<Loja> loja = usuario.flatMap(lojaService::buscarLojaDoUsuario);
+        if (loja.isPresent()) {
+            return ResponseEntity.ok(produtoService.listarProdutosPorLoja(loja.get().getId()));
         }
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Loja não encontrada"));
     }
@@ -112,8 +122,9 @@ public class MinhaLojaController {
             @Valid @RequestBody ProdutoCreateDTO request) {
 
         Optional<Usuario> usuario = usuarioService.buscarPorEmail(userDetails.getUsername());
-        if (usuario.isPresent() && !usuario.get().getLojas().isEmpty()) {
-            Loja loja = usuario.get().getLojas().get(0);
+        Optional<Loja> lojaDoUsuario = usuario.flatMap(lojaService::buscarLojaDoUsuario);
+        if (lojaDoUsuario.isPresent()) {
+            Loja loja = lojaDoUsuario.get();
 
             try {
                 // Converter DTO para entidade
@@ -128,6 +139,67 @@ public class MinhaLojaController {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Usuário não tem loja ou não tem permissão"));
     }
 
+    // Cadastro em massa: o corpo é lido em fluxo, no mesmo formato da exportação (/api/export/produtos).
+    // formato = ndjson ou csv; sem o parâmetro, vale o Content-Type (text/csv ou NDJSON).
+    // Responde 200 com o relatório mesmo quando algumas linhas falham; cada linha válida é gravada.
+    @PostMapping("/produtos/importacao")
+    public ResponseEntity<?> importarProdutos(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(required = false) String formato,
+            HttpServletRequest request) {
+
+        boolean csv;
+        if (formato == null) {
+            csv = request.getContentType() != null
+                    && MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType("text/csv"));
+        } else if (formato.equalsIgnoreCase("ndjson")) {
+            csv = false;
+        } else if (formato.equalsIgnoreCase("csv")) {
+            csv = true;
+        } else {
+            return ResponseEntity.badRequest().body(Map.of("error", "Formato inválido: use ndjson ou csv"));
+        }
+
+        Optional<Usuario> usuario = usuarioService.buscarPorEmail(userDetails.getUsername());
+        Optional<Loja> lojaDoUsuario = usuario.flatMap(lojaService::buscarLojaDoUsuario);
+        if (lojaDoUsuario.isPresent()) {
+            try (BufferedReader corpo = new BufferedReader(
+                    new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8), 64 * 1024)) {
+                return ResponseEntity.ok(importacaoProdutoService.importar(lojaDoUsuario.get(), usuario.get(), corpo, csv));
+            } catch (ValidationException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            } catch (IOException e) {
+                log.warn("Falha ao ler o arquivo de importação: {}", e.getMessage());
+                return ResponseEntity.badRequest().body(Map.of("error", "Falha ao ler o arquivo"));
+            }
+        }
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Usuário não tem loja ou não tem permissão"));
+    }
+
+    // Preço, estoque, ativo e destaque de vários produtos de uma vez: itens (valores por id) ou regra
+    // (ex.: categoria X +5%). Produtos de outras lojas são ignorados.
+    @PatchMapping("/produtos")
+    public ResponseEntity<?> atualizarProdutosEmMassa(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Valid @RequestBody ProdutoAtualizacaoMassaDTO request) {
+
+        Optional<Usuario> usuario = usuarioService.buscarPorEmail(userDetails.getUsername());
+        Optional<Loja> lojaDoUsuario = usuario.flatMap(lojaService::buscarLojaDoUsuario);
+        if (lojaDoUsuario.isPresent()) {
+            try {
+                int atualizados = produtoService.atualizarEmMassa(lojaDoUsuario.get(), usuario.get(), request);
+                return ResponseEntity.ok(Map.of("atualizados", atualizados));
+            } catch (ValidationException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            } catch (DataIntegrityViolationException e) {
+                // Valor fora do que as colunas comportam: nada foi gravado (a transação volta inteira)
+                log.warn("Atualização em massa recusada pelo banco: {}", e.getMostSpecificCause().getMessage());
+                return ResponseEntity.badRequest().body(Map.of("error", "Valores fora do limite permitido"));
+            }
+        }
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Usuário não tem loja ou não tem permissão"));
+    }
+
     @PutMapping("/produtos/{id}")
     public ResponseEntity<?> editarProduto(
             @AuthenticationPrincipal UserDetails userDetails,
@@ -178,6 +250,37 @@ public class MinhaLojaController {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
     }
 
+    // Upload da foto (JPEG, PNG ou GIF): guardada localmente, com miniaturas geradas em segundo plano
+    @PostMapping(value = "/produtos/{id}/foto", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> enviarFotoProduto(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long id,
+            @RequestParam("arquivo") MultipartFile arquivo) {
+
+        Optional<Produto> produto = produtoService.buscarPorId(id);
+        if (produto.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        // Confere a posse antes de gravar o arquivo
+        Optional<Usuario> usuario = usuarioService.buscarPorEmail(userDetails.getUsername());
+        if (usuario.isEmpty() || !produto.get().getLoja().getUsuario().getId().equals(usuario.get().getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Apenas o dono da loja pode editar produtos"));
+        }
+        try {
+            String fotoUrl = armazenamentoImagens.salvar(arquivo);
+            Produto produtoAtualizado = produtoService.atualizarFotoProduto(id, fotoUrl, usuario.get());
+            return ResponseEntity.ok(mapperUtil.toProdutoDTO(produtoAtualizado));
+        } catch (ResourceNotFoundException e) {
+            // Removido entre a conferência e a gravação
+            return ResponseEntity.notFound().build();
+        } catch (IOException e) {
+            log.warn("Falha ao salvar a foto do produto {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", "Falha ao salvar a imagem"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PutMapping("/produtos/{id}/desativar")
     public ResponseEntity<?> desativarProduto(
             @AuthenticationPrincipal UserDetails userDetails,
@@ -1,10 +1,16 @@
 package io.github.brunoeugeniodev.marketplace.controller;
 
-import io.github.brunoeugeniodev.marketplace.models.Loja;
-import io.github.brunoeugeniodev.marketplace.models.Produto;
+import io.github.brunoeugeniodev.marketplace.dto.LojaDTO;
+import io.github.brunoeugeniodev.marketplace.dto.ProdutoDTO;
+import io.github.brunoeugeniodev.marketplace.service.CacheFragmentos;
 import io.github.brunoeugeniodev.marketplace.service.LojaService;
+import io.github.brunoeugeniodev.marketplace.service.OrdenacaoBusca;
+import io.github.brunoeugeniodev.marketplace.service.OrdenacaoLojas;
 import io.github.brunoeugeniodev.marketplace.service.ProdutoService;
+import io.github.brunoeugeniodev.marketplace.service.Vitrine;
+import io.github.brunoeugeniodev.marketplace.util.PaginaCursor;
 import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,19 +20,29 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 @Controller
 public class PaginaController {
 
     private final LojaService lojaService;
     private final ProdutoService produtoService;
+    private final CacheFragmentos cacheFragmentos;
+    private final Vitrine vitrine;
 
-    public PaginaController(LojaService lojaService, ProdutoService produtoService) {
+    // Produtos mais vendidos (carrossel) exibidos na página inicial
+    @Value("${catalogo.home.quantidade:12}")
+    private int quantidadeHome;
+
+    public PaginaController(LojaService lojaService, ProdutoService produtoService,
+                            CacheFragmentos cacheFragmentos, Vitrine vitrine) {
         this.lojaService = lojaService;
         this.produtoService = produtoService;
+        this.cacheFragmentos = cacheFragmentos;
+        this.vitrine = vitrine;
     }
 
     // Método auxiliar para injetar o status de login
@@ -41,13 +57,16 @@ public class PaginaController {
         }
     }
 
+    // Vitrine e lojas vêm do CacheFragmentos (HTML pronto) renderizado a partir do instantâneo da Vitrine,
+    // sem consulta ao banco; só o cabeçalho e os favoritos dependem do usuário
     @GetMapping("/")
     public String home(Model model, HttpSession session) {
-        List<Loja> lojas = lojaService.listarLojasAtivas();
-        List<Produto> produtosDestaque = produtoService.listarProdutosAtivos();
-
-        model.addAttribute("lojas", lojas);
-        model.addAttribute("produtosDestaque", produtosDestaque);
+        Vitrine.Instantaneo instantaneo = vitrine.atual();
+        model.addAttribute("fragmentos", cacheFragmentos.renderizar("home", List.of(instantaneo.versao()), () -> {
+            List<ProdutoDTO> maisVendidos = instantaneo.maisVendidos().itens();
+            List<ProdutoDTO> produtosDestaque = maisVendidos.subList(0, Math.min(quantidadeHome, maisVendidos.size()));
+            return Map.of("lojas", instantaneo.lojasRelevantes(), "produtosDestaque", produtosDestaque);
+        }, "vitrine", "lojas"));
         addLoginStatus(model); // Adiciona o status de login
         return "index";
     }
@@ -63,25 +82,44 @@ public class PaginaController {
     }
 
     @GetMapping("/lojas")
-    public String lojas(Model model) {
-        List<Loja> lojas = lojaService.listarLojasAtivas();
-        model.addAttribute("lojas", lojas);
+    public String lojas(@RequestParam(required = false) String cidade,
+                        @RequestParam(required = false) String estado,
+                        @RequestParam(required = false) String ordenacao,
+                        @RequestParam(required = false) String cursor,
+                        Model model) {
+        OrdenacaoLojas ordem = OrdenacaoLojas.de(ordenacao);
+        // Os filtros ficam no modelo da página (formulário) e no do fragmento (links de paginação)
+        model.addAttribute("cidade", cidade);
+        model.addAttribute("estado", estado);
+        model.addAttribute("ordenacao", ordem.name().toLowerCase());
+        model.addAttribute("fragmentos", cacheFragmentos.renderizar("lojas",
+                Arrays.asList(ordem, cidade, estado, cursor), () -> {
+                    PaginaCursor<LojaDTO> pagina = lojaService.listarDiretorio(ordem, cidade, estado, cursor,
+                            lojaService.normalizarLimite(null));
+                    // Map.of não aceita null (filtros e cursor são opcionais)
+                    Map<String, Object> variaveis = new HashMap<>();
+                    variaveis.put("cidade", cidade);
+                    variaveis.put("estado", estado);
+                    variaveis.put("ordenacao", ordem.name().toLowerCase());
+                    variaveis.put("lojas", pagina.itens());
+                    variaveis.put("proximoCursor", pagina.proximoCursor());
+                    variaveis.put("totalEstimado", pagina.totalEstimado());
+                    variaveis.put("paginaInicial", cursor == null || cursor.isBlank());
+                    return variaveis;
+                }, "lista"));
         addLoginStatus(model);
         return "lojas";
     }
 
+    // Sem loja ativa com esse id os fragmentos vêm null e a página mostra "Loja não encontrada"
     @GetMapping("/loja/{id}")
     public String loja(@PathVariable Long id, Model model) {
-        Optional<Loja> optionalLoja = lojaService.buscarPorIdAtiva(id);
-        if (optionalLoja.isPresent()) {
-            Loja loja = optionalLoja.get();
-            List<Produto> produtos = produtoService.listarProdutosPorLoja(id);
-            model.addAttribute("loja", loja);
-            model.addAttribute("produtos", produtos);
-        } else {
-            model.addAttribute("loja", null);
-            model.addAttribute("produtos", Collections.emptyList());
-        }
+        model.addAttribute("fragmentos", cacheFragmentos.renderizar("loja", List.of(id),
+                () -> lojaService.buscarPorIdAtiva(id)
+                        .<Map<String, Object>>map(loja -> Map.of("loja", loja,
+                                "produtos", produtoService.listarProdutosPorLoja(id)))
+                        .orElse(null),
+                "titulo", "conteudo"));
         addLoginStatus(model);
         return "loja";
     }
@@ -99,9 +137,18 @@ public class PaginaController {
     }
 
     @GetMapping("/destaques")
-    public String destaques(Model model) {
-        List<Produto> produtosDestaque = produtoService.listarProdutosAtivos();
-        model.addAttribute("produtosDestaque", produtosDestaque);
+    public String destaques(@RequestParam(required = false) String ordem,
+                            @RequestParam(required = false) String cursor,
+                            Model model) {
+        OrdenacaoBusca ordenacao = ordem == null ? OrdenacaoBusca.MAIS_VENDIDOS : OrdenacaoBusca.de(ordem);
+        // A primeira página dos mais vendidos já está na Vitrine; as demais vão ao banco
+        boolean primeiraPagina = cursor == null || cursor.isBlank();
+        PaginaCursor<ProdutoDTO> pagina = ordenacao == OrdenacaoBusca.MAIS_VENDIDOS && primeiraPagina
+                ? vitrine.atual().maisVendidos()
+                : produtoService.listarCatalogo(ordenacao, cursor, produtoService.normalizarLimite(null));
+        model.addAttribute("produtosDestaque", pagina.itens());
+        model.addAttribute("ordem", ordenacao.name().toLowerCase());
+        model.addAttribute("proximoCursor", pagina.proximoCursor());
         addLoginStatus(model);
         return "destaques";
     }
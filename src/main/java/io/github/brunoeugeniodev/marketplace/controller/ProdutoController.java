@@ -2,11 +2,15 @@ package io.github.brunoeugeniodev.marketplace.controller;
 
 import io.github.brunoeugeniodev.marketplace.dto.ProdutoDTO;
 import io.github.brunoeugeniodev.marketplace.models.Produto;
+import io.github.brunoeugeniodev.marketplace.service.OrdenacaoBusca;
 import io.github.brunoeugeniodev.marketplace.service.ProdutoService;
 import io.github.brunoeugeniodev.marketplace.util.MapperUtil;
+import io.github.brunoeugeniodev.marketplace.util.PaginaCursor;
+import io.github.brunoeugeniodev.marketplace.util.RespostaCondicional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -20,28 +24,34 @@ public class ProdutoController {
     private final ProdutoService produtoService;
     private final MapperUtil mapperUtil;
 
+    // Catálogo paginado: ordem = relevancia (mais novos), preco_asc, preco_desc, mais_vendidos,
+    // mais_recentes ou melhor_avaliados; o proximoCursor da resposta busca a página seguinte
     @GetMapping
-    public ResponseEntity<List<ProdutoDTO>> listarProdutos() {
-        List<Produto> produtos = produtoService.listarProdutosAtivos();
-        List<ProdutoDTO> produtosDTO = mapperUtil.mapList(produtos, ProdutoDTO.class);
-        return ResponseEntity.ok(produtosDTO);
+    public ResponseEntity<PaginaCursor<ProdutoDTO>> listarProdutos(@RequestParam(required = false) String ordem,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(produtoService.listarCatalogo(OrdenacaoBusca.de(ordem), cursor,
+                produtoService.normalizarLimite(limite)));
     }
 
+    // ETag pelo produto e pela loja (nome e CNPJ aparecem no DTO); 304 sem mapear nem serializar
     @GetMapping("/{id}")
-    public ResponseEntity<ProdutoDTO> listarPorId(@PathVariable Long id) {
+    public ResponseEntity<ProdutoDTO> listarPorId(@PathVariable Long id, WebRequest request) {
         Optional<Produto> optionalProduto = produtoService.buscarProdutoAtivoPorId(id);
         if (optionalProduto.isPresent()) {
-            ProdutoDTO produtoDTO = mapperUtil.toProdutoDTO(optionalProduto.get());
-            return ResponseEntity.ok(produtoDTO);
+            Produto produto = optionalProduto.get();
+            String etag = RespostaCondicional.etag("produto", produto.getId(), produto.getDataAtualizacao(),
+                    produto.getLoja().getId(), produto.getLoja().getDataAtualizacao());
+            return RespostaCondicional.responder(request, etag, RespostaCondicional.PUBLICA,
+                    () -> mapperUtil.toProdutoDTO(produto));
         } else {
             return ResponseEntity.notFound().build();
         }
     }
 
     @GetMapping("/loja/{lojaId}")
-    public ResponseEntity<List<ProdutoDTO>> listarProdutosDaLoja(@PathVariable Long lojaId) {
-        List<Produto> produtos = produtoService.listarProdutosPorLoja(lojaId);
-        List<ProdutoDTO> produtosDTO = mapperUtil.mapList(produtos, ProdutoDTO.class);
-        return ResponseEntity.ok(produtosDTO);
+    public ResponseEntity<List<ProdutoDTO>> listarProdutosDaLoja(@PathVariable Long lojaId, WebRequest request) {
+        return RespostaCondicional.responder(request, produtoService.etagProdutosPorLoja(lojaId),
+                RespostaCondicional.PUBLICA, () -> produtoService.listarProdutosPorLoja(lojaId));
     }
 }
\ No newline at end of file
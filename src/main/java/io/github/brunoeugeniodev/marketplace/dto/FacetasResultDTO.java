@@ -0,0 +1,25 @@
+package io.github.brunoeugeniodev.marketplace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetasResultDTO {
+    private List<ProdutoDTO> produtos;
+    private String proximoCursor;
+    private Long total;
+
+    // dimensão (categoria, marca, faixaPreco) -> valor -> quantidade de produtos
+    private Map<String, Map<String, Long>> facetas;
+
+    // true quando a busca por termo foi limitada a busca.candidatos-maximo: total e facetas contam só esses
+    private boolean contagensAproximadas;
+}
@@ -0,0 +1,27 @@
+package io.github.brunoeugeniodev.marketplace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacaoResultadoDTO {
+    private int linhasLidas;
+    private int importados;
+    private List<ErroLinha> erros;
+    // Erros além de importacao.erros-maximo, que não aparecem na lista
+    private int errosOmitidos;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ErroLinha {
+        // Linha do arquivo (no CSV, a linha em que o registro começa)
+        private int linha;
+        private String erro;
+    }
+}
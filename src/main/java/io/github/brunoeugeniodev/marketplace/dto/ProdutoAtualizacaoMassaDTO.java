@@ -0,0 +1,59 @@
+package io.github.brunoeugeniodev.marketplace.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Informe itens (valores por id) ou regra (filtro + reajuste), não os dois.
+// Campos nulos mantêm o valor atual do produto.
+@Data
+public class ProdutoAtualizacaoMassaDTO {
+
+    @Valid
+    @Size(max = 10000, message = "Máximo de 10000 itens por requisição")
+    private List<Item> itens;
+
+    @Valid
+    private Regra regra;
+
+    @Data
+    public static class Item {
+
+        @NotNull(message = "Id do produto é obrigatório")
+        private Long id;
+
+        @DecimalMin(value = "0.01", message = "Preço deve ser maior que zero")
+        // A coluna é numeric(10,2): 8 dígitos inteiros
+        @Digits(integer = 8, fraction = 2, message = "Preço deve ter no máximo 8 dígitos inteiros e 2 casas decimais")
+        private BigDecimal preco;
+
+        @Min(value = 0, message = "Quantidade não pode ser negativa")
+        private Long quantidade;
+
+        private Boolean ativo;
+
+        private Boolean destaque;
+    }
+
+    @Data
+    public static class Regra {
+
+        // Filtros (sem diferenciar maiúsculas); sem nenhum, vale para todos os produtos da loja
+        private String categoria;
+
+        private String marca;
+
+        // Reajuste do preço em %, ex.: 5 (+5%) ou -10 (-10%); o resultado fica entre 0,01 e o máximo da coluna
+        @DecimalMin(value = "-99.99", message = "Reajuste deve ser maior que -100%")
+        @DecimalMax(value = "1000", message = "Reajuste deve ser de no máximo 1000%")
+        @Digits(integer = 4, fraction = 2, message = "Reajuste deve ter no máximo 2 casas decimais")
+        private BigDecimal percentual;
+
+        private Boolean ativo;
+
+        private Boolean destaque;
+    }
+}
@@ -15,6 +15,20 @@ public class SearchResultDTO {
     private List<LojaDTO> lojas;
     private List<ProdutoDTO> produtos;
 
+    // Mecanismo que produziu o ranking (indice, fulltext ou like)
+    private String modo;
+
+    // Cursores opacos para a próxima página de cada lista (null = última página)
+    private String proximoCursorLojas;
+    private String proximoCursorProdutos;
+
+    // Totais de todas as páginas; podem ser estimativas do planner do banco
+    private Long totalLojasEstimado;
+    private Long totalProdutosEstimado;
+
+    // true quando lojas ou produtos não responderam a tempo e vieram vazios
+    private Boolean parcial;
+
     // Campos removidos para evitar conflito com os métodos getters
     // private Integer totalLojas;
     // private Integer totalProdutos;
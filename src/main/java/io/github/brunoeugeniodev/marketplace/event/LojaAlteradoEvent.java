@@ -0,0 +1,17 @@
+package io.github.brunoeugeniodev.marketplace.event;
+
+import io.github.brunoeugeniodev.marketplace.models.Loja;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Publicado pelo LojaService a cada escrita em lojas (criação, edição, desativação, remoção)
+@Getter
+@AllArgsConstructor
+public class LojaAlteradoEvent {
+    private final Loja loja;
+    private final boolean removido;
+
+    public LojaAlteradoEvent(Loja loja) {
+        this(loja, false);
+    }
+}
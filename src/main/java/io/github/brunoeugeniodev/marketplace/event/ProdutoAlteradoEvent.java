@@ -0,0 +1,17 @@
+package io.github.brunoeugeniodev.marketplace.event;
+
+import io.github.brunoeugeniodev.marketplace.models.Produto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Publicado pelo ProdutoService a cada escrita em produtos (criação, edição, desativação, remoção)
+@Getter
+@AllArgsConstructor
+public class ProdutoAlteradoEvent {
+    private final Produto produto;
+    private final boolean removido;
+
+    public ProdutoAlteradoEvent(Produto produto) {
+        this(produto, false);
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.brunoeugeniodev.marketplace.event;
+
+import io.github.brunoeugeniodev.marketplace.models.Produto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// Publicado pelas escritas em massa (importação, atualização de preço e estoque): um evento para o lote todo,
+// então os índices processam os produtos de uma vez e a geração do catálogo muda uma única vez
+@Getter
+@AllArgsConstructor
+public class ProdutosAlteradosEvent {
+    private final List<Produto> produtos;
+}
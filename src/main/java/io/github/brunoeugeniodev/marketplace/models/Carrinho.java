@@ -28,7 +28,8 @@ import java.util.List;
 public class Carrinho {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "carrinhos_seq")
+    @SequenceGenerator(name = "carrinhos_seq", sequenceName = "carrinhos_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
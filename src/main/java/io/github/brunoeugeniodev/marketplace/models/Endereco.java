@@ -24,7 +24,8 @@ import lombok.experimental.SuperBuilder;
 public class Endereco {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enderecos_seq")
+    @SequenceGenerator(name = "enderecos_seq", sequenceName = "enderecos_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
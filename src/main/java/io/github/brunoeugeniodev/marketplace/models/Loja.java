@@ -2,15 +2,19 @@ package io.github.brunoeugeniodev.marketplace.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import io.github.brunoeugeniodev.marketplace.config.CacheSegundoNivelConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -23,17 +27,27 @@ import java.util.List;
         indexes = {
                 @Index(name = "idx_loja_cnpj", columnList = "cnpj", unique = true),
                 @Index(name = "idx_loja_nome", columnList = "nome"),
-                @Index(name = "idx_loja_usuario", columnList = "usuario_id")
+                @Index(name = "idx_loja_usuario", columnList = "usuario_id"),
+                // Diretório paginado por keyset: filtro por ativo + chave de ordenação + id de desempate
+                @Index(name = "idx_loja_ativo_nome", columnList = "ativo, nome, id"),
+                @Index(name = "idx_loja_ativo_avaliacoes", columnList = "ativo, total_avaliacoes, id"),
+                @Index(name = "idx_loja_ativo_avaliacao", columnList = "ativo, avaliacao_media, id"),
+                @Index(name = "idx_loja_ativo_criacao", columnList = "ativo, data_criacao, id")
         })
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @SuperBuilder
+// Cache de segundo nível (CacheSegundoNivelConfig); a coleção produtos não entra, porque a importação e a
+// atualização em massa gravam produtos por JDBC, fora do Hibernate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheSegundoNivelConfig.LOJAS)
 public class Loja {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lojas_seq")
+    @SequenceGenerator(name = "lojas_seq", sequenceName = "lojas_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -81,19 +95,26 @@ public class Loja {
     private Boolean ativo = true;
 
     @CreationTimestamp
-    @Column(name = "data_criacao", updatable = false)
+    @Column(name = "data_criacao", nullable = false, updatable = false)
     private LocalDateTime dataCriacao;
 
     @UpdateTimestamp
     @Column(name = "data_atualizacao")
     private LocalDateTime dataAtualizacao;
 
-    @Column(name = "avaliacao_media")
+    @Column(name = "avaliacao_media", nullable = false)
     private Double avaliacaoMedia = 0.0;
 
-    @Column(name = "total_avaliacoes")
+    @Column(name = "total_avaliacoes", nullable = false)
     private Integer totalAvaliacoes = 0;
 
+    // Contador mantido pelo ProdutoService com UPDATE atômico no banco; o Hibernate nunca grava
+    // esta coluna, então salvar a loja não sobrescreve um incremento concorrente
+    @Column(name = "quantidade_produtos_ativos", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "integer default 0")
+    @Builder.Default
+    private Integer quantidadeProdutosAtivos = 0;
+
     // Método helper para obter informações básicas da loja
     @Transient
     @JsonInclude
@@ -104,11 +125,11 @@ public class Loja {
         return "Localização não informada";
     }
 
-    // Método helper para contar produtos
+    // Método helper para contar produtos: usa o contador, sem carregar a coleção de produtos
     @Transient
     @JsonInclude
     public Integer getQuantidadeProdutos() {
-        return produtos != null ? produtos.size() : 0;
+        return quantidadeProdutosAtivos != null ? quantidadeProdutosAtivos : 0;
     }
 
     // Classe interna para endereço da loja
@@ -1,6 +1,7 @@
 package io.github.brunoeugeniodev.marketplace.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.github.brunoeugeniodev.marketplace.config.CacheSegundoNivelConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
@@ -11,6 +12,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -23,17 +26,27 @@ import java.time.LocalDateTime;
                 @Index(name = "idx_produto_nome", columnList = "nome"),
                 @Index(name = "idx_produto_loja", columnList = "loja_id"),
                 @Index(name = "idx_produto_preco", columnList = "preco"),
-                @Index(name = "idx_produto_destaque", columnList = "destaque")
+                @Index(name = "idx_produto_destaque", columnList = "destaque"),
+                // Catálogo paginado por keyset: filtro por ativo + chave de ordenação + id de desempate
+                @Index(name = "idx_produto_ativo_preco", columnList = "ativo, preco, id"),
+                @Index(name = "idx_produto_ativo_vendas", columnList = "ativo, total_vendas, id"),
+                @Index(name = "idx_produto_ativo_criacao", columnList = "ativo, data_criacao, id"),
+                @Index(name = "idx_produto_ativo_avaliacao", columnList = "ativo, avaliacao_media, id")
         })
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @SuperBuilder
+// Cache de segundo nível (CacheSegundoNivelConfig); as escritas por JDBC em massa removem do cache os ids alterados
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheSegundoNivelConfig.PRODUTOS)
 public class Produto {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Ids da sequência em blocos de 50 (pooled-lo), o que permite inserts em batch; a InsercaoProdutos reserva blocos da mesma sequência
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produtos_seq")
+    @SequenceGenerator(name = "produtos_seq", sequenceName = "produtos_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -79,17 +92,17 @@ public class Produto {
     private Boolean ativo = true;
 
     @CreationTimestamp
-    @Column(name = "data_criacao", updatable = false)
+    @Column(name = "data_criacao", nullable = false, updatable = false)
     private LocalDateTime dataCriacao;
 
     @UpdateTimestamp
     @Column(name = "data_atualizacao")
     private LocalDateTime dataAtualizacao;
 
-    @Column(name = "avaliacao_media")
+    @Column(name = "avaliacao_media", nullable = false)
     private Double avaliacaoMedia = 0.0;
 
-    @Column(name = "total_vendas")
+    @Column(name = "total_vendas", nullable = false)
     private Integer totalVendas = 0;
 
     // Método helper para verificar disponibilidade
@@ -0,0 +1,117 @@
+package io.github.brunoeugeniodev.marketplace.repository;
+
+import io.github.brunoeugeniodev.marketplace.models.Produto;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Atualização de preço, estoque, ativo e destaque de vários produtos por comando (UPDATE ... FROM (VALUES ...)),
+// sem carregar as entidades. Toda atualização é restrita à loja informada: ids de outras lojas são ignorados.
+// Só regrava as linhas em que algum valor muda, então data_atualizacao (e os ETags) dos demais produtos não mudam.
+// Deve rodar dentro de uma transação (a do chamador). Como o Hibernate não vê esses UPDATEs, os produtos
+// alterados saem do cache de segundo nível depois do commit (antes disso outra transação poderia recolocar
+// a versão antiga).
+@Repository
+@RequiredArgsConstructor
+public class AtualizacaoProdutos {
+
+    // 5 parâmetros por linha: 1000 linhas ficam bem abaixo do limite de parâmetros do PostgreSQL
+    private static final int LINHAS_POR_COMANDO = 1000;
+
+    private static final String LINHA_VALORES =
+            "(CAST(? AS bigint), CAST(? AS numeric), CAST(? AS bigint), CAST(? AS boolean), CAST(? AS boolean))";
+
+    // null em um campo mantém o valor atual
+    private static final String ATUALIZAR_VALORES = "UPDATE produtos p SET "
+            + "preco = COALESCE(v.preco, p.preco), quantidade = COALESCE(v.quantidade, p.quantidade), "
+            + "ativo = COALESCE(v.ativo, p.ativo), destaque = COALESCE(v.destaque, p.destaque), "
+            + "data_atualizacao = LOCALTIMESTAMP "
+            + "FROM (VALUES %s) AS v(id, preco, quantidade, ativo, destaque) "
+            + "WHERE p.id = v.id AND p.loja_id = ? "
+            + "AND (p.preco, p.quantidade, p.ativo, p.destaque) IS DISTINCT FROM "
+            + "(COALESCE(v.preco, p.preco), COALESCE(v.quantidade, p.quantidade), "
+            + "COALESCE(v.ativo, p.ativo), COALESCE(v.destaque, p.destaque)) "
+            + "RETURNING p.id";
+
+    // Maior valor de preco numeric(10,2)
+    private static final BigDecimal PRECO_MAXIMO = new BigDecimal("99999999.99");
+
+    // Reajuste percentual arredondado a centavos, nunca abaixo de 0,01 (o preço precisa continuar positivo)
+    // nem acima do que a coluna comporta (senão o UPDATE inteiro falharia com numeric field overflow)
+    private static final String REAJUSTAR = "UPDATE produtos p SET "
+            + "preco = CASE WHEN CAST(? AS numeric) IS NULL THEN p.preco "
+            + "ELSE LEAST(GREATEST(round(p.preco * (1 + CAST(? AS numeric) / 100), 2), 0.01), CAST(? AS numeric)) END, "
+            + "ativo = COALESCE(CAST(? AS boolean), p.ativo), destaque = COALESCE(CAST(? AS boolean), p.destaque), "
+            + "data_atualizacao = LOCALTIMESTAMP "
+            + "WHERE p.loja_id = ? "
+            + "AND (CAST(? AS text) IS NULL OR lower(p.categoria) = lower(CAST(? AS text))) "
+            + "AND (CAST(? AS text) IS NULL OR lower(p.marca) = lower(CAST(? AS text))) "
+            + "AND (CAST(? AS numeric) IS NOT NULL AND CAST(? AS numeric) <> 0 "
+            + "OR p.ativo IS DISTINCT FROM COALESCE(CAST(? AS boolean), p.ativo) "
+            + "OR p.destaque IS DISTINCT FROM COALESCE(CAST(? AS boolean), p.destaque)) "
+            + "RETURNING p.id";
+
+    public record Valores(Long id, BigDecimal preco, Long quantidade, Boolean ativo, Boolean destaque) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    // Valores explícitos por id; devolve os ids que mudaram
+    public List<Long> atualizar(Long lojaId, List<Valores> valores) {
+        List<Long> alterados = new ArrayList<>();
+        for (int inicio = 0; inicio < valores.size(); inicio += LINHAS_POR_COMANDO) {
+            List<Valores> parte = valores.subList(inicio, Math.min(inicio + LINHAS_POR_COMANDO, valores.size()));
+            String sql = String.format(ATUALIZAR_VALORES, String.join(", ", Collections.nCopies(parte.size(), LINHA_VALORES)));
+            List<Object> parametros = new ArrayList<>(parte.size() * 5 + 1);
+            for (Valores v : parte) {
+                parametros.add(v.id());
+                parametros.add(v.preco());
+                parametros.add(v.quantidade());
+                parametros.add(v.ativo());
+                parametros.add(v.destaque());
+            }
+            parametros.add(lojaId);
+            alterados.addAll(jdbcTemplate.queryForList(sql, Long.class, parametros.toArray()));
+        }
+        removerDoCacheAposCommit(alterados);
+        return alterados;
+    }
+
+    // Regra aplicada a todos os produtos da loja que casam com categoria/marca (null = qualquer);
+    // percentual reajusta o preço (ex.: 5 = +5%, -10 = -10%); devolve os ids que mudaram
+    public List<Long> reajustar(Long lojaId, String categoria, String marca, BigDecimal percentual,
+                                Boolean ativo, Boolean destaque) {
+        List<Long> alterados = jdbcTemplate.queryForList(REAJUSTAR, Long.class,
+                percentual, percentual, PRECO_MAXIMO, ativo, destaque, lojaId,
+                categoria, categoria, marca, marca,
+                percentual, percentual, ativo, destaque);
+        removerDoCacheAposCommit(alterados);
+        return alterados;
+    }
+
+    private void removerDoCacheAposCommit(List<Long> ids) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            removerDoCache(ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                removerDoCache(ids);
+            }
+        });
+    }
+
+    private void removerDoCache(List<Long> ids) {
+        ids.forEach(id -> entityManagerFactory.getCache().evict(Produto.class, id));
+    }
+}
@@ -16,7 +16,8 @@ public interface CarrinhoRepository extends JpaRepository<Carrinho, Long> {
 
     Optional<Carrinho> findByUsuarioId(Long usuarioId);
 
-    @Query("SELECT c FROM Carrinho c LEFT JOIN FETCH c.itens i LEFT JOIN FETCH i.produto " +
+    // Usuário vem junto porque o CarrinhoDTO tem nome e e-mail dele
+    @Query("SELECT c FROM Carrinho c JOIN FETCH c.usuario LEFT JOIN FETCH c.itens i LEFT JOIN FETCH i.produto " +
             "WHERE c.usuario.id = :usuarioId")
     Optional<Carrinho> findByUsuarioIdComItens(@Param("usuarioId") Long usuarioId);
 
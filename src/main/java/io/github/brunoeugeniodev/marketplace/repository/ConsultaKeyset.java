@@ -0,0 +1,145 @@
+package io.github.brunoeugeniodev.marketplace.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Consultas de leitura que selecionam só as colunas do DTO (Tuple), sem hidratar entidades.
+// As colunas de ordenação precisam estar na seleção com o alias igual ao nome da propriedade,
+// porque é de lá que sai a posição keyset de cada item.
+final class ConsultaKeyset {
+
+    private ConsultaKeyset() {
+    }
+
+    static <E, R> Window<R> consultar(EntityManager entityManager, Class<E> entidade,
+                                      Function<Root<E>, List<Selection<?>>> colunas,
+                                      Specification<E> filtro, Sort sort, ScrollPosition posicao, int limite,
+                                      Function<Tuple, R> conversor) {
+        return consultar(entityManager, entidade, colunas, filtro, sort, posicao, limite, null, conversor);
+    }
+
+    // regiaoCache != null: o resultado vai para o cache de consultas do Hibernate, naquela região
+    // (CacheSegundoNivelConfig). Invalidado sempre que a tabela muda; só vale para consultas repetidas
+    // com os mesmos parâmetros, como as listas fixas da vitrine
+    static <E, R> Window<R> consultar(EntityManager entityManager, Class<E> entidade,
+                                      Function<Root<E>, List<Selection<?>>> colunas,
+                                      Specification<E> filtro, Sort sort, ScrollPosition posicao, int limite,
+                                      String regiaoCache, Function<Tuple, R> conversor) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(entidade);
+
+        List<Predicate> condicoes = new ArrayList<>();
+        Predicate predicado = filtro.toPredicate(root, query, cb);
+        if (predicado != null) {
+            condicoes.add(predicado);
+        }
+        if (posicao instanceof KeysetScrollPosition keyset && !keyset.getKeys().isEmpty()) {
+            condicoes.add(depoisDe(root, cb, sort, keyset.getKeys()));
+        }
+
+        query.multiselect(colunas.apply(root))
+                .where(condicoes.toArray(Predicate[]::new))
+                .orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        // Um item a mais só para saber se existe próxima página
+        TypedQuery<Tuple> consulta = entityManager.createQuery(query).setMaxResults(limite + 1);
+        if (regiaoCache != null) {
+            consulta.setHint(HibernateHints.HINT_CACHEABLE, true)
+                    .setHint(HibernateHints.HINT_CACHE_REGION, regiaoCache);
+        }
+        List<Tuple> linhas = consulta.getResultList();
+        boolean temProxima = linhas.size() > limite;
+        List<Tuple> pagina = temProxima ? linhas.subList(0, limite) : linhas;
+
+        List<R> itens = pagina.stream().map(conversor).toList();
+        return Window.from(itens, indice -> ScrollPosition.forward(chaves(pagina.get(indice), sort)), temProxima);
+    }
+
+    // Sem paginação: listas curtas (ids já limitados pelo chamador, produtos de uma loja)
+    static <E, R> List<R> listar(EntityManager entityManager, Class<E> entidade,
+                                 Function<Root<E>, List<Selection<?>>> colunas,
+                                 Specification<E> filtro, Sort sort, Function<Tuple, R> conversor) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(entidade);
+
+        query.multiselect(colunas.apply(root)).orderBy(QueryUtils.toOrders(sort, root, cb));
+        Predicate predicado = filtro.toPredicate(root, query, cb);
+        if (predicado != null) {
+            query.where(predicado);
+        }
+        return entityManager.createQuery(query).getResultList().stream().map(conversor).toList();
+    }
+
+    // Leitura em fluxo para exportação: o driver traz tamanhoLote linhas por vez (fetch size) e cada Tuple
+    // vira DTO e é descartado, então a memória não cresce com o total. No PostgreSQL o fetch size só vale
+    // dentro de uma transação (autocommit desligado); o chamador precisa fechar o Stream
+    static <E, R> Stream<R> transmitir(EntityManager entityManager, Class<E> entidade,
+                                       Function<Root<E>, List<Selection<?>>> colunas,
+                                       Specification<E> filtro, Sort sort, int tamanhoLote,
+                                       Function<Tuple, R> conversor) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(entidade);
+
+        query.multiselect(colunas.apply(root)).orderBy(QueryUtils.toOrders(sort, root, cb));
+        Predicate predicado = filtro.toPredicate(root, query, cb);
+        if (predicado != null) {
+            query.where(predicado);
+        }
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, tamanhoLote)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(conversor);
+    }
+
+    // (k1, k2, ...) depois de (v1, v2, ...) na ordem do sort:
+    // k1 > v1 OR (k1 = v1 AND k2 > v2) OR ..., com < nas chaves decrescentes
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <E> Predicate depoisDe(Root<E> root, CriteriaBuilder cb, Sort sort, Map<String, Object> chaves) {
+        List<Predicate> alternativas = new ArrayList<>();
+        List<Predicate> iguais = new ArrayList<>();
+        for (Sort.Order ordem : sort) {
+            Path<Comparable> caminho = root.get(ordem.getProperty());
+            Comparable valor = (Comparable) chaves.get(ordem.getProperty());
+            Predicate passou = ordem.isAscending() ? cb.greaterThan(caminho, valor) : cb.lessThan(caminho, valor);
+
+            List<Predicate> alternativa = new ArrayList<>(iguais);
+            alternativa.add(passou);
+            alternativas.add(cb.and(alternativa.toArray(Predicate[]::new)));
+            iguais.add(cb.equal(caminho, valor));
+        }
+        return cb.or(alternativas.toArray(Predicate[]::new));
+    }
+
+    private static Map<String, Object> chaves(Tuple linha, Sort sort) {
+        Map<String, Object> chaves = new LinkedHashMap<>();
+        for (Sort.Order ordem : sort) {
+            chaves.put(ordem.getProperty(), linha.get(ordem.getProperty()));
+        }
+        return chaves;
+    }
+}
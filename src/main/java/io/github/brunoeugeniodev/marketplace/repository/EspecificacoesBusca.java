@@ -0,0 +1,51 @@
+package io.github.brunoeugeniodev.marketplace.repository;
+
+import io.github.brunoeugeniodev.marketplace.models.Loja;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+
+// Filtros combináveis das consultas keyset da busca e do catálogo (produtos e lojas)
+public final class EspecificacoesBusca {
+
+    private EspecificacoesBusca() {
+    }
+
+    public static <T> Specification<T> ativo() {
+        return (root, query, cb) -> cb.isTrue(root.get("ativo"));
+    }
+
+    // Produtos só aparecem no catálogo se a loja também estiver ativa
+    public static <T> Specification<T> lojaAtiva() {
+        return (root, query, cb) -> cb.isTrue(root.get("loja").get("ativo"));
+    }
+
+    public static <T> Specification<T> daLoja(Long lojaId) {
+        return (root, query, cb) -> cb.equal(root.get("loja").get("id"), lojaId);
+    }
+
+    // Filtros de localização do diretório de lojas; a grafia de cidade/UF vem normalizada pela base de CEPs
+    public static Specification<Loja> naCidade(String cidade) {
+        String valor = cidade.trim().toLowerCase(Locale.ROOT);
+        return (root, query, cb) -> cb.equal(cb.lower(root.get("endereco").get("cidade")), valor);
+    }
+
+    public static Specification<Loja> noEstado(String estado) {
+        String valor = estado.trim().toUpperCase(Locale.ROOT);
+        return (root, query, cb) -> cb.equal(root.get("endereco").get("estado"), valor);
+    }
+
+    public static <T> Specification<T> idEm(Collection<Long> ids) {
+        return (root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids);
+    }
+
+    // Mesmo critério das consultas buscarPorTermo: o termo aparece em qualquer um dos campos
+    public static <T> Specification<T> termoEm(String termo, String... campos) {
+        String padrao = "%" + termo.toLowerCase(Locale.ROOT) + "%";
+        return (root, query, cb) -> cb.or(Arrays.stream(campos)
+                .map(campo -> cb.like(cb.lower(root.get(campo)), padrao))
+                .toArray(jakarta.persistence.criteria.Predicate[]::new));
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.brunoeugeniodev.marketplace.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Totais aproximados a partir da estimativa do planner (EXPLAIN), sem varrer as linhas com COUNT(*)
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class EstimativaContagem {
+
+    private static final String PRODUTOS_ATIVOS =
+            "SELECT 1 FROM produtos p JOIN lojas l ON l.id = p.loja_id WHERE p.ativo = true AND l.ativo = true";
+    private static final String LOJAS_ATIVAS = "SELECT 1 FROM lojas l WHERE l.ativo = true";
+    private static final String PRODUTOS_TEXTO_COMPLETO =
+            "SELECT 1 FROM produtos p WHERE p.busca_vetor @@ websearch_to_tsquery('portuguese', ?) AND p.ativo = true";
+    private static final String LOJAS_TEXTO_COMPLETO =
+            "SELECT 1 FROM lojas l WHERE l.busca_vetor @@ websearch_to_tsquery('portuguese', ?) AND l.ativo = true";
+    private static final String PRODUTOS_TERMO =
+            "SELECT 1 FROM produtos p WHERE (lower(p.nome) LIKE ? OR lower(p.descricao) LIKE ?) AND p.ativo = true";
+    private static final String LOJAS_TERMO =
+            "SELECT 1 FROM lojas l WHERE (lower(l.nome) LIKE ? OR lower(l.descricao) LIKE ?) AND l.ativo = true";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public long produtosAtivos() {
+        return estimar(PRODUTOS_ATIVOS);
+    }
+
+    // Filtros nulos ficam de fora da consulta
+    public long lojasAtivas(String cidade, String estado) {
+        StringBuilder sql = new StringBuilder(LOJAS_ATIVAS);
+        List<Object> parametros = new ArrayList<>();
+        if (cidade != null) {
+            sql.append(" AND lower(l.loja_cidade) = ?");
+            parametros.add(cidade.trim().toLowerCase(Locale.ROOT));
+        }
+        if (estado != null) {
+            sql.append(" AND l.loja_estado = ?");
+            parametros.add(estado.trim().toUpperCase(Locale.ROOT));
+        }
+        return estimar(sql.toString(), parametros.toArray());
+    }
+
+    public long produtosPorTextoCompleto(String termo) {
+        return estimar(PRODUTOS_TEXTO_COMPLETO, termo);
+    }
+
+    public long lojasPorTextoCompleto(String termo) {
+        return estimar(LOJAS_TEXTO_COMPLETO, termo);
+    }
+
+    public long produtosPorTermo(String termo) {
+        String padrao = "%" + termo.toLowerCase() + "%";
+        return estimar(PRODUTOS_TERMO, padrao, padrao);
+    }
+
+    public long lojasPorTermo(String termo) {
+        String padrao = "%" + termo.toLowerCase() + "%";
+        return estimar(LOJAS_TERMO, padrao, padrao);
+    }
+
+    private long estimar(String sql, Object... parametros) {
+        try {
+            String plano = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, parametros);
+            JsonNode raiz = objectMapper.readTree(plano);
+            return raiz.path(0).path("Plan").path("Plan Rows").asLong(0);
+        } catch (Exception e) {
+            // A estimativa é informativa; a busca não deve falhar por causa dela
+            log.warn("Não foi possível estimar a contagem: {}", e.getMessage());
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.brunoeugeniodev.marketplace.repository;
+
+import io.github.brunoeugeniodev.marketplace.models.Produto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+// Inserção de produtos em lote pelo JDBC (um único INSERT preparado, executado como batch).
+// Os ids vêm da mesma sequência do Produto: cada valor de produtos_seq reserva um bloco de IDS_POR_BLOCO ids
+// (pooled-lo, como o Hibernate faz), então um lote de 1000 produtos custa 20 nextval numa única consulta.
+@Repository
+@RequiredArgsConstructor
+public class InsercaoProdutos {
+
+    private static final String INSERIR = "INSERT INTO produtos (id, loja_id, nome, descricao, preco, quantidade, foto_url, "
+            + "categoria, marca, modelo, destaque, ativo, avaliacao_media, total_vendas, data_criacao, data_atualizacao) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String RESERVAR_BLOCOS = "SELECT nextval('produtos_seq') FROM generate_series(1, ?)";
+    // Igual ao allocationSize do @SequenceGenerator do Produto (e ao INCREMENT BY de db/sequencias.sql)
+    private static final int IDS_POR_BLOCO = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Grava todos os produtos da lista na loja e preenche o id de cada um, na mesma ordem.
+    // Deve rodar dentro de uma transação (a do chamador) para o lote ser tudo ou nada.
+    public void inserir(Long lojaId, List<Produto> produtos) {
+        if (produtos.isEmpty()) {
+            return;
+        }
+        List<Long> blocos = jdbcTemplate.queryForList(RESERVAR_BLOCOS, Long.class,
+                (produtos.size() + IDS_POR_BLOCO - 1) / IDS_POR_BLOCO);
+        for (int i = 0; i < produtos.size(); i++) {
+            produtos.get(i).setId(blocos.get(i / IDS_POR_BLOCO) + i % IDS_POR_BLOCO);
+        }
+
+        jdbcTemplate.batchUpdate(INSERIR, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Produto produto = produtos.get(i);
+                ps.setLong(1, produto.getId());
+                ps.setLong(2, lojaId);
+                ps.setString(3, produto.getNome());
+                ps.setString(4, produto.getDescricao());
+                ps.setBigDecimal(5, produto.getPreco());
+                ps.setLong(6, produto.getQuantidade());
+                ps.setString(7, produto.getFotoUrl());
+                ps.setString(8, produto.getCategoria());
+                ps.setString(9, produto.getMarca());
+                ps.setString(10, produto.getModelo());
+                ps.setBoolean(11, produto.getDestaque());
+                ps.setBoolean(12, produto.getAtivo());
+                ps.setDouble(13, produto.getAvaliacaoMedia());
+                ps.setInt(14, produto.getTotalVendas());
+                ps.setTimestamp(15, Timestamp.valueOf(produto.getDataCriacao()));
+                ps.setObject(16, produto.getDataAtualizacao() == null ? null
+                        : Timestamp.valueOf(produto.getDataAtualizacao()), Types.TIMESTAMP);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return produtos.size();
+            }
+        });
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.brunoeugeniodev.marketplace.repository;
+
+import io.github.brunoeugeniodev.marketplace.dto.LojaDTO;
+import io.github.brunoeugeniodev.marketplace.models.Loja;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Leituras de listagem (diretório, busca, cards): projetam direto para LojaDTO, sem entidade nem ModelMapper
+public interface LojaProjecoes {
+
+    Window<LojaDTO> listarDTOs(Specification<Loja> filtro, Sort sort, ScrollPosition posicao, int limite);
+
+    // Igual, com o resultado no cache de consultas do Hibernate (região de CacheSegundoNivelConfig)
+    Window<LojaDTO> listarDTOs(Specification<Loja> filtro, Sort sort, ScrollPosition posicao, int limite,
+                               String regiaoCache);
+
+    List<LojaDTO> listarDTOs(Specification<Loja> filtro, Sort sort);
+}
@@ -0,0 +1,112 @@
+package io.github.brunoeugeniodev.marketplace.repository;
+
+import io.github.brunoeugeniodev.marketplace.dto.EnderecoLojaDTO;
+import io.github.brunoeugeniodev.marketplace.dto.LojaDTO;
+import io.github.brunoeugeniodev.marketplace.models.Loja;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+class LojaProjecoesImpl implements LojaProjecoes {
+
+    private static final List<String> CAMPOS_ENDERECO =
+            List.of("rua", "numero", "bairro", "cidade", "estado", "cep", "complemento");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Window<LojaDTO> listarDTOs(Specification<Loja> filtro, Sort sort, ScrollPosition posicao, int limite) {
+        return ConsultaKeyset.consultar(entityManager, Loja.class, LojaProjecoesImpl::colunas,
+                filtro, sort, posicao, limite, LojaProjecoesImpl::paraDTO);
+    }
+
+    @Override
+    public Window<LojaDTO> listarDTOs(Specification<Loja> filtro, Sort sort, ScrollPosition posicao, int limite,
+                                      String regiaoCache) {
+        return ConsultaKeyset.consultar(entityManager, Loja.class, LojaProjecoesImpl::colunas,
+                filtro, sort, posicao, limite, regiaoCache, LojaProjecoesImpl::paraDTO);
+    }
+
+    @Override
+    public List<LojaDTO> listarDTOs(Specification<Loja> filtro, Sort sort) {
+        return ConsultaKeyset.listar(entityManager, Loja.class, LojaProjecoesImpl::colunas,
+                filtro, sort, LojaProjecoesImpl::paraDTO);
+    }
+
+    // Aliases iguais aos nomes das propriedades: as ordenações de OrdenacaoLojas leem as chaves daqui
+    private static List<Selection<?>> colunas(Root<Loja> loja) {
+        Path<Loja.EnderecoLoja> endereco = loja.get("endereco");
+        Stream<Selection<?>> campos = Stream.of(
+                loja.get("id").alias("id"),
+                loja.get("nome").alias("nome"),
+                loja.get("cnpj").alias("cnpj"),
+                loja.get("descricao").alias("descricao"),
+                loja.get("fotoUrl").alias("fotoUrl"),
+                loja.get("telefone").alias("telefone"),
+                loja.get("email").alias("email"),
+                loja.get("site").alias("site"),
+                loja.get("ativo").alias("ativo"),
+                loja.get("avaliacaoMedia").alias("avaliacaoMedia"),
+                loja.get("totalAvaliacoes").alias("totalAvaliacoes"),
+                loja.get("quantidadeProdutosAtivos").alias("quantidadeProdutosAtivos"),
+                loja.get("dataCriacao").alias("dataCriacao"),
+                loja.get("dataAtualizacao").alias("dataAtualizacao"));
+        return Stream.concat(campos, CAMPOS_ENDERECO.stream().map(campo -> endereco.get(campo).alias(campo)))
+                .toList();
+    }
+
+    // Mesmo resultado de MapperUtil.toLojaDTOList: sem dados do proprietário
+    private static LojaDTO paraDTO(Tuple linha) {
+        Integer quantidade = linha.get("quantidadeProdutosAtivos", Integer.class);
+        EnderecoLojaDTO endereco = endereco(linha);
+        return LojaDTO.builder()
+                .id(linha.get("id", Long.class))
+                .nome(linha.get("nome", String.class))
+                .cnpj(linha.get("cnpj", String.class))
+                .descricao(linha.get("descricao", String.class))
+                .fotoUrl(linha.get("fotoUrl", String.class))
+                .telefone(linha.get("telefone", String.class))
+                .email(linha.get("email", String.class))
+                .site(linha.get("site", String.class))
+                .ativo(linha.get("ativo", Boolean.class))
+                .avaliacaoMedia(linha.get("avaliacaoMedia", Double.class))
+                .totalAvaliacoes(linha.get("totalAvaliacoes", Integer.class))
+                .quantidadeProdutos(quantidade != null ? quantidade : 0)
+                // Mesmo texto de Loja.getLocalizacao()
+                .localizacao(endereco != null
+                        ? String.format("%s, %s", endereco.getCidade(), endereco.getEstado())
+                        : "Localização não informada")
+                .endereco(endereco)
+                .dataCriacao(linha.get("dataCriacao", LocalDateTime.class))
+                .dataAtualizacao(linha.get("dataAtualizacao", LocalDateTime.class))
+                .build();
+    }
+
+    // O Hibernate carrega o @Embedded como null quando todas as colunas são nulas; aqui vale o mesmo
+    private static EnderecoLojaDTO endereco(Tuple linha) {
+        if (CAMPOS_ENDERECO.stream().allMatch(campo -> linha.get(campo) == null)) {
+            return null;
+        }
+        return EnderecoLojaDTO.builder()
+                .rua(linha.get("rua", String.class))
+                .numero(linha.get("numero", String.class))
+                .bairro(linha.get("bairro", String.class))
+                .cidade(linha.get("cidade", String.class))
+                .estado(linha.get("estado", String.class))
+                .cep(linha.get("cep", String.class))
+                .complemento(linha.get("complemento", String.class))
+                .build();
+    }
+}
@@ -1,10 +1,16 @@
 package io.github.brunoeugeniodev.marketplace.repository;
 
 import io.github.brunoeugeniodev.marketplace.models.Loja;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,7 +18,12 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface LojaRepository extends JpaRepository<Loja, Long> {
+public interface LojaRepository extends JpaRepository<Loja, Long>, JpaSpecificationExecutor<Loja>, LojaProjecoes {
+
+    // O proprietário vem junto: toLojaDTO lê o nome dele fora da transação (open-in-view desligado)
+    @Override
+    @EntityGraph(attributePaths = "usuario")
+    Optional<Loja> findById(Long id);
 
     boolean existsByCnpj(String cnpj);
 
@@ -20,8 +31,11 @@ public interface LojaRepository extends JpaRepository<Loja, Long> {
 
     List<Loja> findByNomeContainingIgnoreCase(String nome);
 
-    List<Loja> findByAtivoTrue();
+    Slice<Loja> findByAtivoTrue(Pageable pageable);
+
+    boolean existsByIdAndAtivoTrue(Long id);
 
+    @EntityGraph(attributePaths = "usuario")
     List<Loja> findByUsuarioId(Long usuarioId);
 
     @Query("SELECT l FROM Loja l WHERE l.usuario.email = :email")
@@ -31,13 +45,56 @@ public interface LojaRepository extends JpaRepository<Loja, Long> {
             "OR LOWER(l.descricao) LIKE LOWER(CONCAT('%', :termo, '%'))")
     List<Loja> buscarPorTermo(@Param("termo") String termo);
 
-    @Query("SELECT l FROM Loja l WHERE l.ativo = true " +
-            "ORDER BY l.avaliacaoMedia DESC NULLS LAST, l.dataCriacao DESC")
-    Page<Loja> findLojasRecomendadas(Pageable pageable);
+    // Busca full-text (coluna busca_vetor criada por db/busca-fulltext.sql), retorna ids já ranqueados
+    @Query(value = "SELECT l.id FROM lojas l, websearch_to_tsquery('portuguese', :termo) consulta " +
+            "WHERE l.busca_vetor @@ consulta AND l.ativo = true " +
+            "ORDER BY ts_rank_cd(l.busca_vetor, consulta) DESC, l.id DESC " +
+            "LIMIT :limite", nativeQuery = true)
+    List<Long> buscarIdsPorTextoCompleto(@Param("termo") String termo, @Param("limite") int limite);
+
+    // Página seguinte do ranking full-text: keyset em (relevância, id), ambos decrescentes
+    @Query(value = "SELECT l.id AS id, ts_rank_cd(l.busca_vetor, consulta) AS relevancia " +
+            "FROM lojas l, websearch_to_tsquery('portuguese', :termo) consulta " +
+            "WHERE l.busca_vetor @@ consulta AND l.ativo = true " +
+            "AND (ts_rank_cd(l.busca_vetor, consulta) < :relevancia " +
+            "OR (ts_rank_cd(l.busca_vetor, consulta) = :relevancia AND l.id < :ultimoId)) " +
+            "ORDER BY relevancia DESC, l.id DESC " +
+            "LIMIT :limite", nativeQuery = true)
+    List<ResultadoRanqueado> buscarPaginaPorTextoCompleto(@Param("termo") String termo,
+                                                          @Param("relevancia") float relevancia,
+                                                          @Param("ultimoId") long ultimoId,
+                                                          @Param("limite") int limite);
+
+    // Limiar do operador % (pg_trgm); is_local = true, então só vale até o fim da transação atual
+    @Query(value = "SELECT set_config('pg_trgm.similarity_threshold', :limiar, true)", nativeQuery = true)
+    String definirLimiarSimilaridade(@Param("limiar") String limiar);
+
+    // Busca por similaridade de trigramas no nome (índice criado por db/busca-trigram.sql)
+    @Query(value = "SELECT l.id FROM lojas l " +
+            "WHERE lower(l.nome) % lower(:termo) AND l.ativo = true " +
+            "ORDER BY similarity(lower(l.nome), lower(:termo)) DESC, l.id DESC " +
+            "LIMIT :limite", nativeQuery = true)
+    List<Long> buscarIdsPorSimilaridade(@Param("termo") String termo, @Param("limite") int limite);
 
     @Query("SELECT l FROM Loja l WHERE l.endereco.cidade = :cidade AND l.ativo = true")
     List<Loja> findByCidade(@Param("cidade") String cidade);
 
     @Query("SELECT COUNT(l) > 0 FROM Loja l WHERE l.cnpj = :cnpj AND l.id != :id")
     boolean existsByCnpjAndIdNot(@Param("cnpj") String cnpj, @Param("id") Long id);
-}
\ No newline at end of file
+
+    // Incremento atômico no banco (delta +1/-1); não passa pela entidade carregada.
+    // NATIVE_SPACES: o Hibernate só invalida o cache de segundo nível de lojas, não o de todas as entidades
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "lojas"))
+    @Query(value = "UPDATE lojas SET quantidade_produtos_ativos = quantidade_produtos_ativos + :delta WHERE id = :lojaId",
+            nativeQuery = true)
+    int ajustarQuantidadeProdutosAtivos(@Param("lojaId") Long lojaId, @Param("delta") int delta);
+
+    // Recontagem exata, para escritas em massa que ativam/desativam vários produtos de uma vez
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "lojas"))
+    @Query(value = "UPDATE lojas SET quantidade_produtos_ativos = "
+            + "(SELECT count(*) FROM produtos p WHERE p.loja_id = :lojaId AND p.ativo = true) WHERE id = :lojaId",
+            nativeQuery = true)
+    int recalcularQuantidadeProdutosAtivos(@Param("lojaId") Long lojaId);
+}
@@ -0,0 +1,22 @@
+package io.github.brunoeugeniodev.marketplace.repository;
+
+import io.github.brunoeugeniodev.marketplace.dto.ProdutoDTO;
+import io.github.brunoeugeniodev.marketplace.models.Produto;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+// Leituras de listagem (catálogo, busca, cards): projetam direto para ProdutoDTO, sem entidade nem ModelMapper
+public interface ProdutoProjecoes {
+
+    Window<ProdutoDTO> listarDTOs(Specification<Produto> filtro, Sort sort, ScrollPosition posicao, int limite);
+
+    List<ProdutoDTO> listarDTOs(Specification<Produto> filtro, Sort sort);
+
+    // Precisa de transação aberta e de fechar o Stream (try-with-resources)
+    Stream<ProdutoDTO> transmitirDTOs(Specification<Produto> filtro, Sort sort, int tamanhoLote);
+}
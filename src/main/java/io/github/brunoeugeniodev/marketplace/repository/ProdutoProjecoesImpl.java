@@ -0,0 +1,95 @@
+package io.github.brunoeugeniodev.marketplace.repository;
+
+import io.github.brunoeugeniodev.marketplace.dto.ProdutoDTO;
+import io.github.brunoeugeniodev.marketplace.models.Loja;
+import io.github.brunoeugeniodev.marketplace.models.Produto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+class ProdutoProjecoesImpl implements ProdutoProjecoes {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Window<ProdutoDTO> listarDTOs(Specification<Produto> filtro, Sort sort, ScrollPosition posicao, int limite) {
+        return ConsultaKeyset.consultar(entityManager, Produto.class, ProdutoProjecoesImpl::colunas,
+                filtro, sort, posicao, limite, ProdutoProjecoesImpl::paraDTO);
+    }
+
+    @Override
+    public List<ProdutoDTO> listarDTOs(Specification<Produto> filtro, Sort sort) {
+        return ConsultaKeyset.listar(entityManager, Produto.class, ProdutoProjecoesImpl::colunas,
+                filtro, sort, ProdutoProjecoesImpl::paraDTO);
+    }
+
+    @Override
+    public Stream<ProdutoDTO> transmitirDTOs(Specification<Produto> filtro, Sort sort, int tamanhoLote) {
+        return ConsultaKeyset.transmitir(entityManager, Produto.class, ProdutoProjecoesImpl::colunas,
+                filtro, sort, tamanhoLote, ProdutoProjecoesImpl::paraDTO);
+    }
+
+    // Aliases iguais aos nomes das propriedades: as ordenações de OrdenacaoBusca leem as chaves daqui
+    private static List<Selection<?>> colunas(Root<Produto> produto) {
+        Path<Loja> loja = produto.get("loja");
+        return List.of(
+                produto.get("id").alias("id"),
+                produto.get("nome").alias("nome"),
+                produto.get("descricao").alias("descricao"),
+                produto.get("preco").alias("preco"),
+                produto.get("quantidade").alias("quantidade"),
+                produto.get("fotoUrl").alias("fotoUrl"),
+                produto.get("categoria").alias("categoria"),
+                produto.get("marca").alias("marca"),
+                produto.get("modelo").alias("modelo"),
+                produto.get("destaque").alias("destaque"),
+                produto.get("ativo").alias("ativo"),
+                produto.get("avaliacaoMedia").alias("avaliacaoMedia"),
+                produto.get("totalVendas").alias("totalVendas"),
+                produto.get("dataCriacao").alias("dataCriacao"),
+                produto.get("dataAtualizacao").alias("dataAtualizacao"),
+                loja.get("id").alias("lojaId"),
+                loja.get("nome").alias("lojaNome"),
+                loja.get("cnpj").alias("lojaCnpj"));
+    }
+
+    // Mesmo resultado de MapperUtil.toProdutoDTO para a entidade equivalente
+    private static ProdutoDTO paraDTO(Tuple linha) {
+        Boolean ativo = linha.get("ativo", Boolean.class);
+        Long quantidade = linha.get("quantidade", Long.class);
+        return ProdutoDTO.builder()
+                .id(linha.get("id", Long.class))
+                .nome(linha.get("nome", String.class))
+                .descricao(linha.get("descricao", String.class))
+                .preco(linha.get("preco", BigDecimal.class))
+                .quantidade(quantidade)
+                .fotoUrl(linha.get("fotoUrl", String.class))
+                .categoria(linha.get("categoria", String.class))
+                .marca(linha.get("marca", String.class))
+                .modelo(linha.get("modelo", String.class))
+                .destaque(linha.get("destaque", Boolean.class))
+                .ativo(ativo)
+                .disponivel(Boolean.TRUE.equals(ativo) && quantidade != null && quantidade > 0)
+                .avaliacaoMedia(linha.get("avaliacaoMedia", Double.class))
+                .totalVendas(linha.get("totalVendas", Integer.class))
+                .dataCriacao(linha.get("dataCriacao", LocalDateTime.class))
+                .dataAtualizacao(linha.get("dataAtualizacao", LocalDateTime.class))
+                .lojaId(linha.get("lojaId", Long.class))
+                .lojaNome(linha.get("lojaNome", String.class))
+                .lojaCnpj(linha.get("lojaCnpj", String.class))
+                .build();
+    }
+}
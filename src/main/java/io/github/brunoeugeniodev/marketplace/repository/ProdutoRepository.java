@@ -1,18 +1,30 @@
 package io.github.brunoeugeniodev.marketplace.repository;
 
 import io.github.brunoeugeniodev.marketplace.models.Produto;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ProdutoRepository extends JpaRepository<Produto, Long> {
+public interface ProdutoRepository extends JpaRepository<Produto, Long>, JpaSpecificationExecutor<Produto>,
+        ProdutoProjecoes {
+
+    // A loja vem junto: detalhe e carrinho leem nome/ativo dela fora da transação (open-in-view desligado)
+    @Override
+    @EntityGraph(attributePaths = "loja")
+    Optional<Produto> findById(Long id);
 
     List<Produto> findByLojaId(Long lojaId);
 
@@ -24,8 +36,10 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
 
     List<Produto> findByAtivoTrue();
 
-    @Query("SELECT p FROM Produto p WHERE p.loja.ativo = true AND p.ativo = true")
-    List<Produto> findProdutosAtivos();
+    Slice<Produto> findByAtivoTrue(Pageable pageable);
+
+    // Carga dos índices em memória: mesmo critério do catálogo (produto e loja ativos)
+    Slice<Produto> findByAtivoTrueAndLojaAtivoTrue(Pageable pageable);
 
     @Query("SELECT p FROM Produto p WHERE LOWER(p.nome) LIKE LOWER(CONCAT('%', :nome, '%')) " +
             "AND p.ativo = true")
@@ -37,6 +51,43 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
             "AND p.ativo = true")
     List<Produto> buscarPorTermo(@Param("termo") String termo);
 
+    @Query("SELECT p.id FROM Produto p WHERE " +
+            "(LOWER(p.nome) LIKE LOWER(CONCAT('%', :termo, '%')) OR " +
+            "LOWER(p.descricao) LIKE LOWER(CONCAT('%', :termo, '%'))) " +
+            "AND p.ativo = true ORDER BY p.id DESC")
+    List<Long> buscarIdsPorTermo(@Param("termo") String termo, Pageable pageable);
+
+    // Busca full-text (coluna busca_vetor criada por db/busca-fulltext.sql), retorna ids já ranqueados
+    @Query(value = "SELECT p.id FROM produtos p, websearch_to_tsquery('portuguese', :termo) consulta " +
+            "WHERE p.busca_vetor @@ consulta AND p.ativo = true " +
+            "ORDER BY ts_rank_cd(p.busca_vetor, consulta) DESC, p.id DESC " +
+            "LIMIT :limite", nativeQuery = true)
+    List<Long> buscarIdsPorTextoCompleto(@Param("termo") String termo, @Param("limite") int limite);
+
+    // Página seguinte do ranking full-text: keyset em (relevância, id), ambos decrescentes
+    @Query(value = "SELECT p.id AS id, ts_rank_cd(p.busca_vetor, consulta) AS relevancia " +
+            "FROM produtos p, websearch_to_tsquery('portuguese', :termo) consulta " +
+            "WHERE p.busca_vetor @@ consulta AND p.ativo = true " +
+            "AND (ts_rank_cd(p.busca_vetor, consulta) < :relevancia " +
+            "OR (ts_rank_cd(p.busca_vetor, consulta) = :relevancia AND p.id < :ultimoId)) " +
+            "ORDER BY relevancia DESC, p.id DESC " +
+            "LIMIT :limite", nativeQuery = true)
+    List<ResultadoRanqueado> buscarPaginaPorTextoCompleto(@Param("termo") String termo,
+                                                          @Param("relevancia") float relevancia,
+                                                          @Param("ultimoId") long ultimoId,
+                                                          @Param("limite") int limite);
+
+    // Limiar do operador % (pg_trgm); is_local = true, então só vale até o fim da transação atual
+    @Query(value = "SELECT set_config('pg_trgm.similarity_threshold', :limiar, true)", nativeQuery = true)
+    String definirLimiarSimilaridade(@Param("limiar") String limiar);
+
+    // Busca por similaridade de trigramas no nome (índice criado por db/busca-trigram.sql)
+    @Query(value = "SELECT p.id FROM produtos p " +
+            "WHERE lower(p.nome) % lower(:termo) AND p.ativo = true " +
+            "ORDER BY similarity(lower(p.nome), lower(:termo)) DESC, p.id DESC " +
+            "LIMIT :limite", nativeQuery = true)
+    List<Long> buscarIdsPorSimilaridade(@Param("termo") String termo, @Param("limite") int limite);
+
     @Query("SELECT p FROM Produto p WHERE p.preco BETWEEN :minPreco AND :maxPreco " +
             "AND p.ativo = true")
     List<Produto> findByPrecoBetween(@Param("minPreco") BigDecimal minPreco,
@@ -50,6 +101,20 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
             "ORDER BY p.dataCriacao DESC")
     Page<Produto> findProdutosDestaque(Pageable pageable);
 
+    @Query("SELECT COUNT(p) AS quantidade, COALESCE(SUM(p.id), 0) AS somaIds, " +
+            "MAX(p.dataAtualizacao) AS ultimaAtualizacao, MAX(l.dataAtualizacao) AS lojaAtualizacao " +
+            "FROM Produto p JOIN p.loja l WHERE l.id = :lojaId AND p.ativo = true")
+    VersaoProdutosLoja versaoProdutosPorLoja(@Param("lojaId") Long lojaId);
+
     @Query("SELECT COUNT(p) FROM Produto p WHERE p.loja.id = :lojaId AND p.ativo = true")
     Long countProdutosAtivosPorLoja(@Param("lojaId") Long lojaId);
+
+    // Releitura depois de UPDATEs por JDBC (AtualizacaoProdutos): vem do banco, ignorando o cache de segundo
+    // nível, que ainda tem os valores antigos até o commit, e sem gravar nele antes do commit
+    @QueryHints({
+            @QueryHint(name = "jakarta.persistence.cache.retrieveMode", value = "BYPASS"),
+            @QueryHint(name = "jakarta.persistence.cache.storeMode", value = "BYPASS")
+    })
+    @Query("SELECT p FROM Produto p WHERE p.id IN :ids")
+    List<Produto> recarregar(@Param("ids") List<Long> ids);
 }
\ No newline at end of file
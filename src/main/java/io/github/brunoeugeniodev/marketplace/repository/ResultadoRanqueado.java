@@ -0,0 +1,8 @@
+package io.github.brunoeugeniodev.marketplace.repository;
+
+// Projeção das consultas full-text: id e relevância (ts_rank_cd), usada como chave keyset
+public interface ResultadoRanqueado {
+    Long getId();
+
+    Float getRelevancia();
+}
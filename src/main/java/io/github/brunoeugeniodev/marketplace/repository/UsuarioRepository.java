@@ -1,6 +1,7 @@
 package io.github.brunoeugeniodev.marketplace.repository;
 
 import io.github.brunoeugeniodev.marketplace.models.Usuario;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,14 +13,21 @@ import java.util.Optional;
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
+    // Roles vêm junto: a autenticação e o UsuarioDTO usam fora da transação (open-in-view desligado)
+    @EntityGraph(attributePaths = "roles")
     Optional<Usuario> findByEmail(String email);
 
+    @Override
+    @EntityGraph(attributePaths = "roles")
+    Optional<Usuario> findById(Long id);
+
     Optional<Usuario> findByCpf(String cpf);
 
     boolean existsByEmail(String email);
 
     boolean existsByCpf(String cpf);
 
+    @EntityGraph(attributePaths = "roles")
     List<Usuario> findByAtivoTrue();
 
     List<Usuario> findByRolesContains(String role);
@@ -0,0 +1,15 @@
+package io.github.brunoeugeniodev.marketplace.repository;
+
+import java.time.LocalDateTime;
+
+// Resumo dos produtos ativos de uma loja para o ETag da listagem: muda quando algum produto
+// entra, sai ou é alterado, ou quando a loja (nome/CNPJ exibidos em cada item) é alterada
+public interface VersaoProdutosLoja {
+    Long getQuantidade();
+
+    Long getSomaIds();
+
+    LocalDateTime getUltimaAtualizacao();
+
+    LocalDateTime getLojaAtualizacao();
+}
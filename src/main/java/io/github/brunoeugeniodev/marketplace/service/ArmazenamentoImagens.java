@@ -0,0 +1,256 @@
+package io.github.brunoeugeniodev.marketplace.service;
+
+import jakarta.validation.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Imagens de produtos e lojas guardadas no disco local, endereçadas pelo conteúdo (SHA-256):
+// o mesmo arquivo enviado duas vezes é guardado uma vez, e a URL nunca muda de conteúdo (cache imutável).
+// Layout: {diretorio}/original/ab/{hash}.{ext} e {diretorio}/{largura}/ab/{hash}.jpg (ab = 2 primeiros caracteres).
+// As miniaturas são geradas em segundo plano (executorImagens) logo depois do envio; enquanto não ficam
+// prontas, o MidiaController serve o original.
+@Service
+@Slf4j
+public class ArmazenamentoImagens {
+
+    public static final String PREFIXO_URL = "/midia/";
+    public static final String ORIGINAL = "original";
+
+    private static final Pattern URL_LOCAL = Pattern.compile("^/midia/original/([0-9a-f]{64})\\.(jpg|png|gif)$");
+    private static final Pattern ARQUIVO = Pattern.compile("^([0-9a-f]{64})\\.(jpg|png|gif)$");
+    // Formato do ImageIO -> extensão guardada; o tipo é detectado pelo conteúdo, não pelo nome enviado
+    private static final Map<String, String> FORMATOS = Map.of("jpeg", "jpg", "png", "png", "gif", "gif");
+
+    private final Path diretorio;
+    private final List<Integer> larguras;
+    private final long pixelsMaximo;
+    private final float qualidadeJpeg;
+    private final ExecutorService executor;
+
+    public ArmazenamentoImagens(@Value("${imagens.diretorio:dados/imagens}") String diretorio,
+                                @Value("${imagens.larguras:160,320,640}") List<Integer> larguras,
+                                @Value("${imagens.pixels-maximo:40000000}") long pixelsMaximo,
+                                @Value("${imagens.qualidade-jpeg:0.8}") float qualidadeJpeg,
+                                @Qualifier("executorImagens") ExecutorService executor) throws IOException {
+        this.diretorio = Path.of(diretorio).toAbsolutePath().normalize();
+        this.larguras = larguras.stream().sorted().toList();
+        this.pixelsMaximo = pixelsMaximo;
+        this.qualidadeJpeg = qualidadeJpeg;
+        this.executor = executor;
+        Files.createDirectories(this.diretorio.resolve("tmp"));
+    }
+
+    // Guarda a imagem enviada e agenda as miniaturas; devolve a URL do original (vai para fotoUrl)
+    public String salvar(MultipartFile arquivo) throws IOException {
+        if (arquivo == null || arquivo.isEmpty()) {
+            throw new ValidationException("Arquivo de imagem vazio");
+        }
+        // O upload vai direto para o disco; nada da imagem fica em memória até a geração das miniaturas
+        Path temporario = Files.createTempFile(diretorio.resolve("tmp"), "upload-", ".tmp");
+        try {
+            arquivo.transferTo(temporario);
+            String extensao = validar(temporario);
+            String hash = sha256(temporario);
+            Path destino = caminho(ORIGINAL, hash, extensao);
+            if (Files.notExists(destino)) {
+                Files.createDirectories(destino.getParent());
+                Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            executor.execute(() -> gerarMiniaturas(hash, extensao));
+            return PREFIXO_URL + ORIGINAL + "/" + hash + "." + extensao;
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    // URL da menor variante com pelo menos a largura pedida. URLs externas (cadastradas antes do upload)
+    // voltam como estão; usado pelos templates: ${@armazenamentoImagens.miniatura(produto.fotoUrl, 320)}
+    public String miniatura(String fotoUrl, int largura) {
+        Matcher local = fotoUrl != null ? URL_LOCAL.matcher(fotoUrl) : null;
+        if (local == null || !local.matches()) {
+            return fotoUrl;
+        }
+        for (Integer disponivel : larguras) {
+            if (disponivel >= largura) {
+                return PREFIXO_URL + disponivel + "/" + local.group(1) + ".jpg";
+            }
+        }
+        return fotoUrl;
+    }
+
+    // Arquivo de uma URL /midia/{variante}/{arquivo}, ou null se o nome for inválido.
+    // Não verifica se existe: a miniatura pode ainda estar sendo gerada.
+    public Path localizar(String variante, String arquivo) {
+        Matcher nome = ARQUIVO.matcher(arquivo);
+        if (!nome.matches()) {
+            return null;
+        }
+        if (ORIGINAL.equals(variante)) {
+            return caminho(ORIGINAL, nome.group(1), nome.group(2));
+        }
+        if (!nome.group(2).equals("jpg") || !larguras.contains(parseLargura(variante))) {
+            return null;
+        }
+        return caminho(variante, nome.group(1), "jpg");
+    }
+
+    // Original de uma imagem pelo hash, em qualquer formato aceito (fallback das miniaturas pendentes)
+    public Path localizarOriginal(String hash) {
+        for (String extensao : FORMATOS.values()) {
+            Path original = caminho(ORIGINAL, hash, extensao);
+            if (Files.exists(original)) {
+                return original;
+            }
+        }
+        return null;
+    }
+
+    private Path caminho(String variante, String hash, String extensao) {
+        return diretorio.resolve(variante).resolve(hash.substring(0, 2)).resolve(hash + "." + extensao);
+    }
+
+    private static int parseLargura(String variante) {
+        try {
+            return Integer.parseInt(variante);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // Só lê o cabeçalho: formato e dimensões são conferidos antes de decodificar os pixels
+    private String validar(Path arquivo) throws IOException {
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(arquivo.toFile())) {
+            Iterator<ImageReader> leitores = entrada != null ? ImageIO.getImageReaders(entrada) : null;
+            if (leitores == null || !leitores.hasNext()) {
+                throw new ValidationException("Arquivo não é uma imagem suportada (JPEG, PNG ou GIF)");
+            }
+            ImageReader leitor = leitores.next();
+            try {
+                String extensao = FORMATOS.get(leitor.getFormatName().toLowerCase(Locale.ROOT));
+                if (extensao == null) {
+                    throw new ValidationException("Formato de imagem não suportado: use JPEG, PNG ou GIF");
+                }
+                leitor.setInput(entrada, true, true);
+                if ((long) leitor.getWidth(0) * leitor.getHeight(0) > pixelsMaximo) {
+                    throw new ValidationException("Imagem muito grande");
+                }
+                return extensao;
+            } finally {
+                leitor.dispose();
+            }
+        }
+    }
+
+    private static String sha256(Path arquivo) throws IOException {
+        try (InputStream entrada = Files.newInputStream(arquivo)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            int lidos;
+            while ((lidos = entrada.read(buffer)) != -1) {
+                digest.update(buffer, 0, lidos);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Roda no executorImagens. Cada largura é gravada num temporário e movida no fim, então o
+    // MidiaController nunca vê um arquivo pela metade; miniaturas já existentes são puladas.
+    private void gerarMiniaturas(String hash, String extensao) {
+        try {
+            BufferedImage original = null;
+            for (Integer largura : larguras) {
+                Path destino = caminho(String.valueOf(largura), hash, "jpg");
+                if (Files.exists(destino)) {
+                    continue;
+                }
+                if (original == null) {
+                    original = ImageIO.read(caminho(ORIGINAL, hash, extensao).toFile());
+                }
+                Files.createDirectories(destino.getParent());
+                Path temporario = Files.createTempFile(diretorio.resolve("tmp"), "miniatura-", ".tmp");
+                try {
+                    gravarJpeg(redimensionar(original, largura), temporario);
+                    Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } finally {
+                    Files.deleteIfExists(temporario);
+                }
+            }
+            log.debug("Miniaturas geradas para {}", hash);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Falha ao gerar miniaturas de {}: {}", hash, e.getMessage());
+        }
+    }
+
+    // Nunca amplia; reduções grandes são feitas pela metade em etapas (bilinear), o que evita o serrilhado
+    // de um único passo. Fundo branco porque o JPEG não tem transparência.
+    private static BufferedImage redimensionar(BufferedImage original, int largura) {
+        int larguraFinal = Math.min(largura, original.getWidth());
+        int alturaFinal = Math.max(1, (int) Math.round((double) original.getHeight() * larguraFinal / original.getWidth()));
+        BufferedImage atual = original;
+        int w = original.getWidth();
+        int h = original.getHeight();
+        do {
+            w = Math.max(larguraFinal, w / 2);
+            h = Math.max(alturaFinal, h / 2);
+            BufferedImage passo = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = passo.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, w, h);
+                g.drawImage(atual, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            atual = passo;
+        } while (w != larguraFinal || h != alturaFinal);
+        return atual;
+    }
+
+    private void gravarJpeg(BufferedImage imagem, Path destino) throws IOException {
+        ImageWriter escritor = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream saida = ImageIO.createImageOutputStream(destino.toFile())) {
+            ImageWriteParam parametros = escritor.getDefaultWriteParam();
+            parametros.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            parametros.setCompressionQuality(qualidadeJpeg);
+            parametros.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            escritor.setOutput(saida);
+            escritor.write(null, new IIOImage(imagem, null, null), parametros);
+        } finally {
+            escritor.dispose();
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package io.github.brunoeugeniodev.marketplace.service;
+
+import io.github.brunoeugeniodev.marketplace.config.BancoDadosInicializador;
+import io.github.brunoeugeniodev.marketplace.dto.LojaDTO;
+import io.github.brunoeugeniodev.marketplace.dto.ProdutoDTO;
+import io.github.brunoeugeniodev.marketplace.models.Loja;
+import io.github.brunoeugeniodev.marketplace.models.Produto;
+import io.github.brunoeugeniodev.marketplace.repository.EspecificacoesBusca;
+import io.github.brunoeugeniodev.marketplace.repository.EstimativaContagem;
+import io.github.brunoeugeniodev.marketplace.repository.ResultadoRanqueado;
+import io.github.brunoeugeniodev.marketplace.util.CursorPagina;
+import io.github.brunoeugeniodev.marketplace.util.PaginaCursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+// Orquestra a busca: obtém os ids ranqueados do mecanismo configurado (busca.modo)
+// e só vai ao banco para carregar a página pedida. Todas as páginas são por cursor (keyset),
+// então a página 100 custa o mesmo que a primeira.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BuscaService {
+
+    private final MotorBuscaService motorBuscaService;
+    private final ProdutoService produtoService;
+    private final LojaService lojaService;
+    private final EstimativaContagem estimativaContagem;
+    private final BancoDadosInicializador bancoDadosInicializador;
+
+    @Value("${busca.modo:indice}")
+    private ModoBusca modo;
+
+    @Value("${busca.limite-padrao:50}")
+    private int limitePadrao;
+
+    @Value("${busca.limite-maximo:200}")
+    private int limiteMaximo;
+
+    // Ordenações diferentes de relevância reordenam no máximo este número de resultados do índice
+    @Value("${busca.candidatos-maximo:10000}")
+    private int candidatosMaximo;
+
+    @Value("${busca.fuzzy.habilitado:true}")
+    private boolean fuzzyHabilitado;
+
+    @Value("${busca.fuzzy.limiar:0.3}")
+    private double limiarSimilaridade;
+
+    @Value("${busca.fuzzy.minimo-resultados:5}")
+    private int minimoResultados;
+
+    public ModoBusca getModo() {
+        return modo;
+    }
+
+    // Aplica o limite padrão quando não informado e nunca deixa passar do máximo configurado
+    public int normalizarLimite(Integer limite) {
+        if (limite == null || limite <= 0) {
+            return limitePadrao;
+        }
+        return Math.min(limite, limiteMaximo);
+    }
+
+    // Candidatos para as facetas; truncado indica que o limite cortou resultados (as contagens ficam aproximadas)
+    public record CandidatosProdutos(List<Long> ids, boolean truncado) {
+    }
+
+    // Como buscarIdsProdutos, mas no modo índice devolve o ranking inteiro: já está em memória, então contar
+    // as facetas sobre todos os resultados não custa ida ao banco. Nos demais modos vale busca.candidatos-maximo.
+    public CandidatosProdutos buscarCandidatosProdutos(String termo) {
+        if (modoEfetivo() == ModoBusca.INDICE) {
+            return new CandidatosProdutos(motorBuscaService.buscarProdutos(termo), false);
+        }
+        List<Long> ids = buscarIdsProdutos(termo);
+        return new CandidatosProdutos(ids, ids.size() >= candidatosMaximo);
+    }
+
+    // Ids dos produtos que atendem ao termo, em ordem de relevância (até busca.candidatos-maximo)
+    public List<Long> buscarIdsProdutos(String termo) {
+        return switch (modoEfetivo()) {
+            case INDICE -> {
+                List<Long> ids = motorBuscaService.buscarProdutos(termo);
+                yield ids.subList(0, Math.min(candidatosMaximo, ids.size()));
+            }
+            case FULLTEXT -> produtoService.buscarIdsPorTextoCompleto(termo, candidatosMaximo);
+            case LIKE -> produtoService.buscarIdsPorTermo(termo, candidatosMaximo);
+        };
+    }
+
+    // Resultados exatos primeiro; se a primeira página vier com poucos, completa com nomes parecidos
+    public PaginaCursor<ProdutoDTO> buscarProdutos(String termo, OrdenacaoBusca ordem, String cursor, int tamanho) {
+        CursorPagina posicao = CursorPagina.decodificar(cursor, ordem.name());
+        PaginaCursor<ProdutoDTO> pagina = ordem == OrdenacaoBusca.RELEVANCIA
+                ? buscarProdutosPorRelevancia(termo, posicao, tamanho)
+                : buscarProdutosOrdenados(termo, ordem, posicao, tamanho);
+
+        if (posicao != null || ordem != OrdenacaoBusca.RELEVANCIA
+                || !precisaDeSimilares(pagina.itens().size(), tamanho)) {
+            return pagina;
+        }
+        List<Long> ids = produtoService.buscarIdsPorSimilaridade(termo, limiarSimilaridade, tamanho);
+        List<ProdutoDTO> itens = combinar(pagina.itens(), produtoService.buscarAtivosPorIds(ids), ProdutoDTO::getId, tamanho);
+        return new PaginaCursor<>(itens, pagina.proximoCursor(), Math.max(pagina.totalEstimado(), itens.size()));
+    }
+
+    // Lojas são sempre ordenadas por relevância
+    public PaginaCursor<LojaDTO> buscarLojas(String termo, String cursor, int tamanho) {
+        CursorPagina posicao = CursorPagina.decodificar(cursor, OrdenacaoBusca.RELEVANCIA.name());
+        PaginaCursor<LojaDTO> pagina = buscarLojasPorRelevancia(termo, posicao, tamanho);
+
+        if (posicao != null || !precisaDeSimilares(pagina.itens().size(), tamanho)) {
+            return pagina;
+        }
+        List<Long> ids = lojaService.buscarIdsPorSimilaridade(termo, limiarSimilaridade, tamanho);
+        List<LojaDTO> itens = combinar(pagina.itens(), lojaService.buscarAtivasPorIds(ids), LojaDTO::getId, tamanho);
+        return new PaginaCursor<>(itens, pagina.proximoCursor(), Math.max(pagina.totalEstimado(), itens.size()));
+    }
+
+    private PaginaCursor<ProdutoDTO> buscarProdutosPorRelevancia(String termo, CursorPagina posicao, int tamanho) {
+        return switch (modoEfetivo()) {
+            case INDICE -> paginarRanking(motorBuscaService.buscarProdutos(termo), posicao, tamanho,
+                    produtoService::buscarAtivosPorIds);
+            case FULLTEXT -> paginarTextoCompleto(posicao, tamanho,
+                    (relevancia, ultimoId) -> produtoService.buscarPaginaPorTextoCompleto(termo, relevancia, ultimoId, tamanho + 1),
+                    produtoService::buscarAtivosPorIds,
+                    () -> estimativaContagem.produtosPorTextoCompleto(termo));
+            case LIKE -> paginarProdutosPorKeyset(filtroProdutosPorTermo(termo), OrdenacaoBusca.RELEVANCIA, posicao,
+                    tamanho, estimativaContagem.produtosPorTermo(termo));
+        };
+    }
+
+    // Preço, vendas e data: o mecanismo de busca define o conjunto, o banco ordena e pagina por keyset
+    private PaginaCursor<ProdutoDTO> buscarProdutosOrdenados(String termo, OrdenacaoBusca ordem,
+                                                          CursorPagina posicao, int tamanho) {
+        return switch (modoEfetivo()) {
+            case INDICE -> {
+                List<Long> candidatos = buscarIdsProdutos(termo);
+                yield paginarProdutosPorKeyset(EspecificacoesBusca.idEm(candidatos), ordem, posicao, tamanho,
+                        candidatos.size());
+            }
+            case FULLTEXT -> {
+                List<Long> candidatos = produtoService.buscarIdsPorTextoCompleto(termo, candidatosMaximo);
+                long total = candidatos.size() < candidatosMaximo
+                        ? candidatos.size()
+                        : estimativaContagem.produtosPorTextoCompleto(termo);
+                yield paginarProdutosPorKeyset(EspecificacoesBusca.idEm(candidatos), ordem, posicao, tamanho, total);
+            }
+            case LIKE -> paginarProdutosPorKeyset(filtroProdutosPorTermo(termo), ordem, posicao, tamanho,
+                    estimativaContagem.produtosPorTermo(termo));
+        };
+    }
+
+    private PaginaCursor<LojaDTO> buscarLojasPorRelevancia(String termo, CursorPagina posicao, int tamanho) {
+        return switch (modoEfetivo()) {
+            case INDICE -> paginarRanking(motorBuscaService.buscarLojas(termo), posicao, tamanho,
+                    lojaService::buscarAtivasPorIds);
+            case FULLTEXT -> paginarTextoCompleto(posicao, tamanho,
+                    (relevancia, ultimoId) -> lojaService.buscarPaginaPorTextoCompleto(termo, relevancia, ultimoId, tamanho + 1),
+                    lojaService::buscarAtivasPorIds,
+                    () -> estimativaContagem.lojasPorTextoCompleto(termo));
+            case LIKE -> {
+                Specification<Loja> filtro = EspecificacoesBusca.<Loja>ativo()
+                        .and(EspecificacoesBusca.termoEm(termo, "nome", "descricao"));
+                Window<LojaDTO> janela = lojaService.listarPorKeyset(filtro, OrdenacaoBusca.RELEVANCIA.sort(),
+                        CursorPagina.posicao(posicao, null, null), tamanho);
+                yield new PaginaCursor<>(janela.getContent(),
+                        CursorPagina.proximo(janela, OrdenacaoBusca.RELEVANCIA.name(), null),
+                        estimativaContagem.lojasPorTermo(termo));
+            }
+        };
+    }
+
+    // Enquanto o índice em memória não fica pronto, a busca usa as consultas LIKE
+    private ModoBusca modoEfetivo() {
+        if (modo == ModoBusca.INDICE && !motorBuscaService.isPronto()) {
+            log.debug("Índice de busca ainda não está pronto, usando consulta no banco");
+            return ModoBusca.LIKE;
+        }
+        return modo;
+    }
+
+    // Ranking já calculado em memória: o cursor guarda a posição na lista
+    private <T> PaginaCursor<T> paginarRanking(List<Long> ranking, CursorPagina posicao, int tamanho,
+                                               Function<List<Long>, List<T>> carregar) {
+        int inicio = posicao == null ? 0 : posicao.posicaoNoRanking(ranking.size());
+        int fim = Math.min(inicio + tamanho, ranking.size());
+        List<Long> ids = ranking.subList(inicio, fim);
+
+        String proximo = fim < ranking.size()
+                ? new CursorPagina(OrdenacaoBusca.RELEVANCIA.name(), String.valueOf(fim), ranking.get(fim - 1)).codificar()
+                : null;
+        return new PaginaCursor<>(carregar.apply(ids), proximo, ranking.size());
+    }
+
+    // Full-text: keyset em (relevância, id); busca um item a mais para saber se existe próxima página
+    private <T> PaginaCursor<T> paginarTextoCompleto(CursorPagina posicao, int tamanho,
+                                                     ConsultaRanqueada consulta,
+                                                     Function<List<Long>, List<T>> carregar,
+                                                     LongSupplier estimativa) {
+        float relevancia = posicao == null ? Float.MAX_VALUE : posicao.valorComo(Float::valueOf);
+        long ultimoId = posicao == null ? Long.MAX_VALUE : posicao.id();
+        List<ResultadoRanqueado> resultados = consulta.buscar(relevancia, ultimoId);
+
+        boolean temProxima = resultados.size() > tamanho;
+        List<ResultadoRanqueado> pagina = temProxima ? resultados.subList(0, tamanho) : resultados;
+        String proximo = null;
+        if (temProxima) {
+            ResultadoRanqueado ultimo = pagina.get(pagina.size() - 1);
+            proximo = new CursorPagina(OrdenacaoBusca.RELEVANCIA.name(),
+                    String.valueOf(ultimo.getRelevancia()), ultimo.getId()).codificar();
+        }
+
+        List<Long> ids = pagina.stream().map(ResultadoRanqueado::getId).toList();
+        long total = posicao == null && !temProxima ? ids.size() : estimativa.getAsLong();
+        return new PaginaCursor<>(carregar.apply(ids), proximo, total);
+    }
+
+    private PaginaCursor<ProdutoDTO> paginarProdutosPorKeyset(Specification<Produto> filtro, OrdenacaoBusca ordem,
+                                                           CursorPagina posicao, int tamanho, long total) {
+        Window<ProdutoDTO> janela = produtoService.listarPorKeyset(
+                EspecificacoesBusca.<Produto>ativo().and(filtro), ordem.sort(),
+                CursorPagina.posicao(posicao, ordem.getPropriedade(), ordem.getConversor()), tamanho);
+        return new PaginaCursor<>(janela.getContent(),
+                CursorPagina.proximo(janela, ordem.name(), ordem.getPropriedade()), total);
+    }
+
+    private Specification<Produto> filtroProdutosPorTermo(String termo) {
+        return EspecificacoesBusca.termoEm(termo, "nome", "descricao");
+    }
+
+    private boolean precisaDeSimilares(int encontrados, int limite) {
+        return fuzzyHabilitado && bancoDadosInicializador.isTrigramDisponivel()
+                && encontrados < Math.min(minimoResultados, limite);
+    }
+
+    // Mantém a ordem dos exatos, acrescenta os similares que ainda não apareceram e corta no limite
+    private <T> List<T> combinar(List<T> exatos, List<T> similares, Function<T, Long> id, int limite) {
+        Map<Long, T> combinados = new LinkedHashMap<>();
+        exatos.forEach(item -> combinados.put(id.apply(item), item));
+        similares.forEach(item -> combinados.putIfAbsent(id.apply(item), item));
+        return combinados.values().stream()
+                .limit(limite)
+                .collect(Collectors.toList());
+    }
+
+    @FunctionalInterface
+    private interface ConsultaRanqueada {
+        List<ResultadoRanqueado> buscar(float relevancia, long ultimoId);
+    }
+}
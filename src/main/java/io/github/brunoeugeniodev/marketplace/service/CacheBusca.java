@@ -0,0 +1,109 @@
+package io.github.brunoeugeniodev.marketplace.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.brunoeugeniodev.marketplace.dto.LojaDTO;
+import io.github.brunoeugeniodev.marketplace.dto.ProdutoDTO;
+import io.github.brunoeugeniodev.marketplace.util.PaginaCursor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+// Cache das páginas de busca já convertidas em DTO, limitado por quantidade de itens e por TTL.
+// A chave inclui a geração do catálogo (VersaoCatalogo), então qualquer escrita em produtos/lojas
+// invalida exatamente os resultados que podem ter mudado.
+// O cache guarda a busca em andamento (CompletableFuture), não só o resultado: requisições iguais
+// simultâneas esperam a mesma consulta, e a consulta roda fora de qualquer lock do cache (um compute
+// do Caffeine seguraria o lock do ConcurrentHashMap, que fixa a virtual thread no carrier durante o JDBC).
+// Buscas que falham ou estouram o timeout saem do cache sozinhas.
+@Component
+public class CacheBusca {
+
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    // Lojas dependem também dos produtos (quantidadeProdutos no LojaDTO)
+    private record ChaveLojas(String termo, String cursor, int tamanho, long geracaoLojas, long geracaoProdutos) {
+    }
+
+    private record ChaveProdutos(String termo, OrdenacaoBusca ordem, String cursor, int tamanho, long geracaoProdutos) {
+    }
+
+    private final VersaoCatalogo versaoCatalogo;
+    private final AsyncCache<ChaveLojas, PaginaCursor<LojaDTO>> lojas;
+    private final AsyncCache<ChaveProdutos, PaginaCursor<ProdutoDTO>> produtos;
+
+    public CacheBusca(VersaoCatalogo versaoCatalogo,
+                      MeterRegistry meterRegistry,
+                      @Value("${busca.cache.itens-maximo:50000}") long itensMaximo,
+                      @Value("${busca.cache.ttl:10m}") Duration ttl) {
+        this.versaoCatalogo = versaoCatalogo;
+        this.lojas = criar(itensMaximo, ttl);
+        this.produtos = criar(itensMaximo, ttl);
+        CaffeineCacheMetrics.monitor(meterRegistry, lojas, "busca.lojas");
+        CaffeineCacheMetrics.monitor(meterRegistry, produtos, "busca.produtos");
+    }
+
+    // iniciar dispara a busca (ExecutorBusca.iniciar) e só é chamado quando a página não está no cache
+    public CompletableFuture<PaginaCursor<LojaDTO>> lojas(String termo, String cursor, int tamanho,
+                                                          Supplier<CompletableFuture<PaginaCursor<LojaDTO>>> iniciar) {
+        ChaveLojas chave = new ChaveLojas(normalizar(termo), cursor, tamanho,
+                versaoCatalogo.getLojas(), versaoCatalogo.getProdutos());
+        return obter(lojas, chave, iniciar);
+    }
+
+    public CompletableFuture<PaginaCursor<ProdutoDTO>> produtos(String termo, OrdenacaoBusca ordem, String cursor,
+                                                                int tamanho,
+                                                                Supplier<CompletableFuture<PaginaCursor<ProdutoDTO>>> iniciar) {
+        ChaveProdutos chave = new ChaveProdutos(normalizar(termo), ordem, cursor, tamanho,
+                versaoCatalogo.getProdutos());
+        return obter(produtos, chave, iniciar);
+    }
+
+    // putIfAbsent de um futuro vazio reserva a chave; a busca começa depois, já sem nenhum lock
+    private static <K, V> CompletableFuture<V> obter(AsyncCache<K, V> cache, K chave,
+                                                     Supplier<CompletableFuture<V>> iniciar) {
+        CompletableFuture<V> existente = cache.getIfPresent(chave);
+        if (existente != null) {
+            return existente;
+        }
+        CompletableFuture<V> reservado = new CompletableFuture<>();
+        existente = cache.asMap().putIfAbsent(chave, reservado);
+        if (existente != null) {
+            return existente;
+        }
+        try {
+            iniciar.get().whenComplete((valor, erro) -> {
+                if (erro != null) {
+                    reservado.completeExceptionally(erro);
+                } else {
+                    reservado.complete(valor);
+                }
+            });
+        } catch (RuntimeException e) {
+            reservado.completeExceptionally(e);
+        }
+        return reservado;
+    }
+
+    // "  Celular   Samsung" e "celular samsung" dão o mesmo resultado em todos os modos de busca
+    private static String normalizar(String termo) {
+        return ESPACOS.matcher(termo.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    // O peso é a quantidade de itens da página, então o limite vale para o volume real em memória
+    private static <K, T> AsyncCache<K, PaginaCursor<T>> criar(long itensMaximo, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumWeight(itensMaximo)
+                .<K, PaginaCursor<T>>weigher((chave, pagina) -> pagina.itens().size() + 1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.brunoeugeniodev.marketplace.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring6.expression.ThymeleafEvaluationContext;
+import org.thymeleaf.web.IWebExchange;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+// Cache do HTML já renderizado dos trechos de página iguais para todos os visitantes
+// (vitrine e lojas da home, lista do diretório, conteúdo da página da loja).
+// Cada template em templates/fragmentos/ vira uma entrada com o HTML de cada th:fragment pedido.
+// A chave inclui as gerações do catálogo (VersaoCatalogo), então escritas em produtos/lojas invalidam tudo;
+// o que depende do usuário (cabeçalho, favoritos) continua na página e é renderizado a cada requisição.
+@Component
+public class CacheFragmentos {
+
+    // Todos os trechos mostram dados de produtos e de lojas, então as duas gerações entram na chave
+    private record Chave(String template, List<Object> parametros, long geracaoProdutos, long geracaoLojas) {
+    }
+
+    private final ITemplateEngine templateEngine;
+    private final JakartaServletWebApplication aplicacao;
+    private final VersaoCatalogo versaoCatalogo;
+    private final ApplicationContext applicationContext;
+    private final Cache<Chave, Map<String, String>> fragmentos;
+    private final boolean habilitado;
+
+    public CacheFragmentos(ITemplateEngine templateEngine,
+                           ServletContext servletContext,
+                           VersaoCatalogo versaoCatalogo,
+                           ApplicationContext applicationContext,
+                           MeterRegistry meterRegistry,
+                           @Value("${paginas.cache.habilitado:false}") boolean habilitado,
+                           @Value("${paginas.cache.caracteres-maximo:20000000}") long caracteresMaximo,
+                           @Value("${paginas.cache.ttl:10m}") Duration ttl) {
+        this.templateEngine = templateEngine;
+        this.aplicacao = JakartaServletWebApplication.buildApplication(servletContext);
+        this.versaoCatalogo = versaoCatalogo;
+        this.applicationContext = applicationContext;
+        this.habilitado = habilitado;
+        // O peso é o tamanho do HTML guardado, então o limite vale para o volume real em memória
+        this.fragmentos = Caffeine.newBuilder()
+                .maximumWeight(caracteresMaximo)
+                .<Chave, Map<String, String>>weigher((chave, html) ->
+                        html.values().stream().mapToInt(String::length).sum() + 1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, fragmentos, "paginas.fragmentos");
+    }
+
+    // Devolve o HTML de cada fragmento de templates/fragmentos/{template}.html, por nome.
+    // As variáveis só são carregadas quando o HTML precisa ser renderizado; se o carregamento
+    // devolver null (ex.: loja não encontrada), nada é guardado e o retorno é null.
+    // Com o cache desligado (desenvolvimento) renderiza sempre, usando os mesmos templates.
+    public Map<String, String> renderizar(String template, List<Object> parametros,
+                                          Supplier<Map<String, Object>> variaveis, String... nomes) {
+        if (!habilitado) {
+            return processar(template, variaveis.get(), nomes);
+        }
+        Chave chave = new Chave(template, parametros,
+                versaoCatalogo.getProdutos(), versaoCatalogo.getLojas());
+        return fragmentos.get(chave, c -> processar(template, variaveis.get(), nomes));
+    }
+
+    private Map<String, String> processar(String template, Map<String, Object> variaveis, String... nomes) {
+        if (variaveis == null) {
+            return null;
+        }
+        WebContext contexto = new WebContext(requisicaoAtual(), LocaleContextHolder.getLocale(), variaveis);
+        // Fora da view do Spring MVC o SpEL não tem acesso aos beans (${@armazenamentoImagens...}) sem isto
+        contexto.setVariable(ThymeleafEvaluationContext.THYMELEAF_EVALUATION_CONTEXT_CONTEXT_VARIABLE_NAME,
+                new ThymeleafEvaluationContext(applicationContext, null));
+        Map<String, String> html = new LinkedHashMap<>();
+        for (String nome : nomes) {
+            html.put(nome, templateEngine.process("fragmentos/" + template, Set.of(nome), contexto));
+        }
+        return html;
+    }
+
+    // Os links (@{...}) precisam da requisição para o context path; a resposta não reescreve URLs
+    // (;jsessionid=...), senão o id de sessão de um visitante ficaria no HTML servido a todos
+    private IWebExchange requisicaoAtual() {
+        ServletRequestAttributes atributos = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        HttpServletRequest request = atributos.getRequest();
+        HttpServletResponse response = new HttpServletResponseWrapper(atributos.getResponse()) {
+            @Override
+            public String encodeURL(String url) {
+                return url;
+            }
+
+            @Override
+            public String encodeRedirectURL(String url) {
+                return url;
+            }
+        };
+        return aplicacao.buildExchange(request, response);
+    }
+}
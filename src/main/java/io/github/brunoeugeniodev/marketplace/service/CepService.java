@@ -0,0 +1,121 @@
+package io.github.brunoeugeniodev.marketplace.service;
+
+import io.github.brunoeugeniodev.marketplace.dto.CepDTO;
+import io.github.brunoeugeniodev.marketplace.models.Endereco;
+import io.github.brunoeugeniodev.marketplace.models.Loja;
+import io.github.brunoeugeniodev.marketplace.util.AnalisadorTexto;
+import io.github.brunoeugeniodev.marketplace.util.BaseCep;
+import jakarta.validation.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+// Consulta de CEP local, sobre a base binária mapeada em memória (ver BaseCep).
+// Sem o arquivo configurado o serviço fica desligado: buscar retorna vazio e os endereços não são normalizados.
+@Service
+@Slf4j
+public class CepService {
+
+    @Value("${cep.base.arquivo:}")
+    private String arquivo;
+
+    private volatile BaseCep base;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        if (arquivo == null || arquivo.isBlank()) {
+            log.info("Base de CEPs não configurada (cep.base.arquivo); consulta de CEP desativada");
+            return;
+        }
+        Path caminho = Path.of(arquivo);
+        if (!Files.isReadable(caminho)) {
+            log.warn("Base de CEPs não encontrada em {}; consulta de CEP desativada", caminho.toAbsolutePath());
+            return;
+        }
+        try {
+            base = BaseCep.abrir(caminho);
+            log.info("Base de CEPs carregada: {} CEPs ({})", base.tamanho(), caminho);
+        } catch (Exception e) {
+            log.error("Erro ao abrir a base de CEPs {}", caminho, e);
+        }
+    }
+
+    public boolean isDisponivel() {
+        return base != null;
+    }
+
+    // Aceita o CEP com ou sem máscara; lança ValidationException se não tiver 8 dígitos
+    public Optional<CepDTO> buscar(String cep) {
+        return consultar(cep).map(registro -> CepDTO.builder()
+                .cep(formatar(registro.cep()))
+                .logradouro(registro.logradouro())
+                .bairro(registro.bairro())
+                .cidade(registro.cidade())
+                .estado(registro.uf())
+                .build());
+    }
+
+    // Confere cidade/UF com o CEP e grava a grafia da base; bairro e rua vazios são preenchidos.
+    // CEP ausente da base (ou base desligada) não bloqueia o cadastro; com a base carregada, o CEP precisa de 8 dígitos.
+    public void normalizar(Endereco endereco) {
+        validar(endereco.getCep(), endereco.getCidade(), endereco.getEstado()).ifPresent(registro -> {
+            endereco.setCep(formatar(registro.cep()));
+            endereco.setCidade(registro.cidade());
+            endereco.setEstado(registro.uf());
+            endereco.setBairro(preencher(endereco.getBairro(), registro.bairro()));
+            endereco.setRua(preencher(endereco.getRua(), registro.logradouro()));
+        });
+    }
+
+    public void normalizar(Loja.EnderecoLoja endereco) {
+        validar(endereco.getCep(), endereco.getCidade(), endereco.getEstado()).ifPresent(registro -> {
+            endereco.setCep(formatar(registro.cep()));
+            endereco.setCidade(registro.cidade());
+            endereco.setEstado(registro.uf());
+            endereco.setBairro(preencher(endereco.getBairro(), registro.bairro()));
+            endereco.setRua(preencher(endereco.getRua(), registro.logradouro()));
+        });
+    }
+
+    // Sem base os endereços são salvos como vieram: nem o formato do CEP é conferido
+    private Optional<BaseCep.Registro> validar(String cep, String cidade, String estado) {
+        if (base == null || cep == null || cep.isBlank()) {
+            return Optional.empty();
+        }
+        Optional<BaseCep.Registro> encontrado = consultar(cep);
+        encontrado.ifPresent(registro -> {
+            boolean cidadeDiferente = cidade != null && !cidade.isBlank()
+                    && !AnalisadorTexto.normalizar(cidade.trim()).equals(AnalisadorTexto.normalizar(registro.cidade()));
+            boolean estadoDiferente = estado != null && !estado.isBlank()
+                    && !estado.trim().equalsIgnoreCase(registro.uf());
+            if (cidadeDiferente || estadoDiferente) {
+                throw new ValidationException("CEP " + formatar(registro.cep()) + " pertence a "
+                        + registro.cidade() + "/" + registro.uf());
+            }
+        });
+        return encontrado;
+    }
+
+    private Optional<BaseCep.Registro> consultar(String cep) {
+        String digitos = cep == null ? "" : cep.replaceAll("\\D", "");
+        if (digitos.length() != 8) {
+            throw new ValidationException("CEP deve ter 8 dígitos");
+        }
+        BaseCep atual = base;
+        return atual == null ? Optional.empty() : atual.buscar(Integer.parseInt(digitos));
+    }
+
+    private static String preencher(String valor, String padrao) {
+        return (valor == null || valor.isBlank()) && !padrao.isEmpty() ? padrao : valor;
+    }
+
+    private static String formatar(String digitos) {
+        return digitos.substring(0, 5) + "-" + digitos.substring(5);
+    }
+}
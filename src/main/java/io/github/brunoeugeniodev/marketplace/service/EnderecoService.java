@@ -19,9 +19,13 @@ import java.util.Optional;
 public class EnderecoService {
 
     private final EnderecoRepository enderecoRepository;
+    private final CepService cepService;
 
     @Transactional
     public Endereco criarEndereco(Endereco endereco, Usuario usuario) {
+        // Confere cidade/UF com o CEP e completa bairro/rua pela base local
+        cepService.normalizar(endereco);
+
         // Validações básicas
         validarEndereco(endereco);
 
@@ -45,6 +49,8 @@ public class EnderecoService {
     public Endereco atualizarEndereco(Long id, Endereco enderecoAtualizado, Usuario usuario) {
         return enderecoRepository.findByIdAndUsuarioId(id, usuario.getId())
                 .map(endereco -> {
+                    cepService.normalizar(enderecoAtualizado);
+
                     // Validações básicas
                     validarEndereco(enderecoAtualizado);
 
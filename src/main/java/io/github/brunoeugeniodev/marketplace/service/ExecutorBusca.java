@@ -0,0 +1,78 @@
+package io.github.brunoeugeniodev.marketplace.service;
+
+import io.github.brunoeugeniodev.marketplace.exception.ApiException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Executa os ramos independentes da busca (lojas e produtos) em paralelo, cada um com seu timeout.
+// Um ramo que estoura o tempo ou falha vira null e a resposta sai parcial, em vez de falhar inteira.
+@Component
+@Slf4j
+public class ExecutorBusca {
+
+    private final ExecutorService executor;
+    private final TransactionTemplate leitura;
+    private final boolean concorrente;
+    private final Duration timeoutRamo;
+
+    public ExecutorBusca(@Qualifier("executorBusca") ExecutorService executor,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${busca.concorrente:true}") boolean concorrente,
+                         @Value("${busca.timeout-ramo:2s}") Duration timeoutRamo) {
+        this.executor = executor;
+        this.concorrente = concorrente;
+        this.timeoutRamo = timeoutRamo;
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        // O timeout da transação vira timeout das consultas: um ramo abandonado não segue rodando no banco
+        this.leitura.setTimeout((int) Math.max(1, timeoutRamo.toSeconds()));
+    }
+
+    // Todas as consultas do ramo numa única transação somente leitura, já que ele roda fora da thread da requisição
+    public <T> T emLeitura(Supplier<T> consulta) {
+        return leitura.execute(status -> consulta.get());
+    }
+
+    public <T> CompletableFuture<T> iniciar(Supplier<T> ramo) {
+        if (!concorrente) {
+            try {
+                return CompletableFuture.completedFuture(ramo.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return CompletableFuture.supplyAsync(ramo, executor)
+                .orTimeout(timeoutRamo.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Resultado do ramo, ou null se ele estourou o timeout ou falhou.
+    // Erros de requisição (ex.: cursor inválido) continuam sendo propagados.
+    public <T> T aguardar(CompletableFuture<T> futuro, String ramo) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            Throwable causa = e.getCause() != null ? e.getCause() : e;
+            if (causa instanceof ApiException apiException) {
+                throw apiException;
+            }
+            if (causa instanceof TimeoutException) {
+                log.warn("Ramo '{}' da busca excedeu {} ms, retornando resultado parcial", ramo, timeoutRamo.toMillis());
+            } else {
+                log.error("Ramo '{}' da busca falhou, retornando resultado parcial", ramo, causa);
+            }
+            return null;
+        }
+    }
+}
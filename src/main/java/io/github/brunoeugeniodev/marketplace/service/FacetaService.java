@@ -0,0 +1,218 @@
+package io.github.brunoeugeniodev.marketplace.service;
+
+import io.github.brunoeugeniodev.marketplace.dto.ProdutoDTO;
+import io.github.brunoeugeniodev.marketplace.event.LojaAlteradoEvent;
+import io.github.brunoeugeniodev.marketplace.event.ProdutoAlteradoEvent;
+import io.github.brunoeugeniodev.marketplace.event.ProdutosAlteradosEvent;
+import io.github.brunoeugeniodev.marketplace.models.Loja;
+import io.github.brunoeugeniodev.marketplace.models.Produto;
+import io.github.brunoeugeniodev.marketplace.repository.LojaRepository;
+import io.github.brunoeugeniodev.marketplace.repository.ProdutoRepository;
+import io.github.brunoeugeniodev.marketplace.util.CursorPagina;
+import io.github.brunoeugeniodev.marketplace.util.IndiceFacetas;
+import io.github.brunoeugeniodev.marketplace.util.PaginaCursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Busca facetada de produtos: filtros combinados por categoria, marca e faixa de preço,
+// com a contagem de cada valor, tudo respondido por bitmaps em memória. Só indexa produtos ativos
+// de lojas ativas, para as contagens baterem com a lista de resultados (buscarAtivosPorIds).
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FacetaService {
+
+    public static final String CATEGORIA = "categoria";
+    public static final String MARCA = "marca";
+    public static final String FAIXA_PRECO = "faixaPreco";
+
+    private static final List<String> DIMENSOES = List.of(CATEGORIA, MARCA, FAIXA_PRECO);
+    private static final int TAMANHO_LOTE = 1000;
+    private static final String ORDEM_RELEVANCIA = OrdenacaoBusca.RELEVANCIA.name();
+    private static final String ORDEM_RECENTES = OrdenacaoBusca.MAIS_RECENTES.name();
+
+    // aproximado: a busca por termo foi limitada (busca.candidatos-maximo), então total e contagens cobrem só
+    // os primeiros resultados por relevância
+    public record ResultadoFacetado(PaginaCursor<ProdutoDTO> pagina, Map<String, Map<String, Long>> facetas,
+                                    boolean aproximado) {
+    }
+
+    private final ProdutoRepository produtoRepository;
+    private final LojaRepository lojaRepository;
+    private final ProdutoService produtoService;
+    private final BuscaService buscaService;
+
+    private final IndiceFacetas indice = new IndiceFacetas();
+
+    // Limites das faixas de preço: 50,100 gera "0-50", "50-100" e "100+"
+    @Value("${busca.facetas.faixas-preco:50,100,200,500,1000}")
+    private BigDecimal[] limitesPreco;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void construirIndice() {
+        long inicio = System.currentTimeMillis();
+        indice.limpar();
+
+        Pageable pagina = PageRequest.of(0, TAMANHO_LOTE, Sort.by("id"));
+        Slice<Produto> produtos;
+        do {
+            produtos = produtoRepository.findByAtivoTrueAndLojaAtivoTrue(pagina);
+            produtos.forEach(this::indexar);
+            pagina = produtos.nextPageable();
+        } while (produtos.hasNext());
+
+        log.info("Índice de facetas construído: {} produtos em {} ms",
+                indice.tamanho(), System.currentTimeMillis() - inicio);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProdutoAlterado(ProdutoAlteradoEvent event) {
+        Produto produto = event.getProduto();
+        aplicar(produto, event.isRemovido() || !lojaAtiva(idLoja(produto)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProdutosAlterados(ProdutosAlteradosEvent event) {
+        Map<Long, Boolean> lojasAtivas = new HashMap<>();
+        event.getProdutos().forEach(produto -> aplicar(produto,
+                !lojasAtivas.computeIfAbsent(idLoja(produto), this::lojaAtiva)));
+    }
+
+    // Produtos saem das facetas junto com a loja desativada e voltam quando ela é reativada
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLojaAlterada(LojaAlteradoEvent event) {
+        if (event.isRemovido()) {
+            return;
+        }
+        Loja loja = event.getLoja();
+        boolean oculta = !Boolean.TRUE.equals(loja.getAtivo());
+        produtoRepository.findByLojaIdAndAtivoTrue(loja.getId()).forEach(produto -> aplicar(produto, oculta));
+    }
+
+    // oculto: removido ou com a loja desativada
+    private void aplicar(Produto produto, boolean oculto) {
+        if (oculto || !Boolean.TRUE.equals(produto.getAtivo())) {
+            indice.remover(produto.getId());
+        } else {
+            indexar(produto);
+        }
+    }
+
+    // Com termo, os resultados seguem a relevância da busca; sem termo, do mais novo para o mais antigo
+    public ResultadoFacetado buscar(String termo, Map<String, Set<String>> filtros, String cursor, int tamanho) {
+        boolean comTermo = termo != null && !termo.isBlank();
+        CursorPagina posicao = CursorPagina.decodificar(cursor, comTermo ? ORDEM_RELEVANCIA : ORDEM_RECENTES);
+
+        BuscaService.CandidatosProdutos candidatos = comTermo ? buscaService.buscarCandidatosProdutos(termo) : null;
+        List<Long> ranking = candidatos != null ? candidatos.ids() : null;
+        RoaringBitmap base = null;
+        if (ranking != null) {
+            base = new RoaringBitmap();
+            for (Long id : ranking) {
+                base.add(Math.toIntExact(id));
+            }
+        }
+
+        IndiceFacetas.Resultado resultado = indice.consultar(base, filtros, DIMENSOES);
+        RoaringBitmap correspondentes = resultado.correspondentes();
+        PaginaCursor<Long> ids = ranking != null
+                ? paginarRanking(ranking, correspondentes, posicao, tamanho)
+                : paginarPorId(correspondentes, posicao, tamanho);
+
+        PaginaCursor<ProdutoDTO> pagina = new PaginaCursor<>(produtoService.buscarAtivosPorIds(ids.itens()),
+                ids.proximoCursor(), correspondentes.getLongCardinality());
+        return new ResultadoFacetado(pagina, resultado.contagens(), candidatos != null && candidatos.truncado());
+    }
+
+    // Mantém a ordem de relevância; o cursor guarda a posição no ranking
+    private PaginaCursor<Long> paginarRanking(List<Long> ranking, RoaringBitmap correspondentes,
+                                              CursorPagina posicao, int tamanho) {
+        int inicio = posicao == null ? 0 : posicao.posicaoNoRanking(ranking.size());
+        List<Long> ids = new ArrayList<>(tamanho);
+        int i = inicio;
+        for (; i < ranking.size() && ids.size() < tamanho; i++) {
+            if (correspondentes.contains(Math.toIntExact(ranking.get(i)))) {
+                ids.add(ranking.get(i));
+            }
+        }
+        boolean temProxima = false;
+        for (int j = i; j < ranking.size() && !temProxima; j++) {
+            temProxima = correspondentes.contains(Math.toIntExact(ranking.get(j)));
+        }
+        String proximo = temProxima && !ids.isEmpty()
+                ? new CursorPagina(ORDEM_RELEVANCIA, String.valueOf(i), ids.get(ids.size() - 1)).codificar()
+                : null;
+        return new PaginaCursor<>(ids, proximo, correspondentes.getLongCardinality());
+    }
+
+    // Keyset sobre o próprio bitmap: ids menores que o último entregue, do maior para o menor
+    private PaginaCursor<Long> paginarPorId(RoaringBitmap correspondentes, CursorPagina posicao, int tamanho) {
+        // O id vem do cliente: limitado ao intervalo do bitmap (fora dele, a página fica vazia ou completa)
+        RoaringBitmap restantes = posicao == null
+                ? correspondentes
+                : RoaringBitmap.remove(correspondentes, Math.max(0L, Math.min(posicao.id(), 1L << 32)), 1L << 32);
+        int total = restantes.getCardinality();
+        int fim = Math.max(0, total - tamanho);
+
+        List<Long> ids = new ArrayList<>(tamanho);
+        for (int i = total - 1; i >= fim; i--) {
+            ids.add(Integer.toUnsignedLong(restantes.select(i)));
+        }
+        String proximo = fim > 0
+                ? new CursorPagina(ORDEM_RECENTES, null, ids.get(ids.size() - 1)).codificar()
+                : null;
+        return new PaginaCursor<>(ids, proximo, correspondentes.getLongCardinality());
+    }
+
+    // Só o id da loja: o proxy lazy não é inicializado (a sessão já fechou quando o evento chega)
+    private static Long idLoja(Produto produto) {
+        return produto.getLoja() != null ? produto.getLoja().getId() : null;
+    }
+
+    private boolean lojaAtiva(Long lojaId) {
+        return lojaId != null && lojaRepository.existsByIdAndAtivoTrue(lojaId);
+    }
+
+    private void indexar(Produto produto) {
+        Map<String, String> valores = new HashMap<>();
+        valores.put(CATEGORIA, aparar(produto.getCategoria()));
+        valores.put(MARCA, aparar(produto.getMarca()));
+        valores.put(FAIXA_PRECO, faixaPreco(produto.getPreco()));
+        indice.indexar(produto.getId(), valores);
+    }
+
+    private String faixaPreco(BigDecimal preco) {
+        if (preco == null) {
+            return null;
+        }
+        BigDecimal inferior = BigDecimal.ZERO;
+        for (BigDecimal limite : limitesPreco) {
+            if (preco.compareTo(limite) < 0) {
+                return inferior.toPlainString() + "-" + limite.toPlainString();
+            }
+            inferior = limite;
+        }
+        return inferior.toPlainString() + "+";
+    }
+
+    private String aparar(String valor) {
+        return valor != null ? valor.trim() : null;
+    }
+}
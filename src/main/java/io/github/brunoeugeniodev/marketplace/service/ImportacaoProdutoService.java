@@ -0,0 +1,303 @@
+package io.github.brunoeugeniodev.marketplace.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.brunoeugeniodev.marketplace.dto.ImportacaoResultadoDTO;
+import io.github.brunoeugeniodev.marketplace.dto.ImportacaoResultadoDTO.ErroLinha;
+import io.github.brunoeugeniodev.marketplace.dto.ProdutoCreateDTO;
+import io.github.brunoeugeniodev.marketplace.event.ProdutosAlteradosEvent;
+import io.github.brunoeugeniodev.marketplace.models.Loja;
+import io.github.brunoeugeniodev.marketplace.models.Produto;
+import io.github.brunoeugeniodev.marketplace.models.Usuario;
+import io.github.brunoeugeniodev.marketplace.repository.InsercaoProdutos;
+import io.github.brunoeugeniodev.marketplace.repository.LojaRepository;
+import io.github.brunoeugeniodev.marketplace.util.LeitorCsv;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ValidationException;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Importação de produtos em massa para o dono da loja (NDJSON ou CSV, lidos em fluxo).
+// O arquivo é processado em lotes de importacao.tamanho-lote linhas: cada lote é validado em paralelo
+// com as mesmas regras do cadastro unitário (anotações do ProdutoCreateDTO + ProdutoService.validarProduto)
+// e as linhas válidas são gravadas num batch JDBC, numa transação própria. Linhas inválidas não impedem as demais.
+@Service
+@Slf4j
+public class ImportacaoProdutoService {
+
+    // Usado também pela exportação (ExportacaoController), para o CSV exportado voltar pela importação.
+    // Colunas reconhecidas pelo nome no cabeçalho (as demais são ignoradas)
+    public static final char SEPARADOR_CSV = ';';
+    private static final List<String> COLUNAS_OBRIGATORIAS = List.of("nome", "preco", "quantidade");
+
+    // Linha lida e ainda não convertida: json no NDJSON, campos no CSV
+    private record Linha(int numero, String json, List<String> campos) {
+    }
+
+    // Resultado da validação: produto pronto para gravar ou a mensagem de erro
+    private record LinhaValidada(int numero, Produto produto, String erro) {
+    }
+
+    private final InsercaoProdutos insercaoProdutos;
+    private final LojaRepository lojaRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transacao;
+
+    @Value("${importacao.tamanho-lote:1000}")
+    private int tamanhoLote;
+
+    @Value("${importacao.erros-maximo:1000}")
+    private int errosMaximo;
+
+    public ImportacaoProdutoService(InsercaoProdutos insercaoProdutos,
+                                    LojaRepository lojaRepository,
+                                    ApplicationEventPublisher eventPublisher,
+                                    ObjectMapper objectMapper,
+                                    Validator validator,
+                                    PlatformTransactionManager transactionManager) {
+        this.insercaoProdutos = insercaoProdutos;
+        this.lojaRepository = lojaRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transacao = new TransactionTemplate(transactionManager);
+    }
+
+    // No CSV a primeira linha é o cabeçalho; no NDJSON cada linha é um ProdutoCreateDTO (linhas em branco são puladas)
+    public ImportacaoResultadoDTO importar(Loja loja, Usuario usuario, Reader corpo, boolean csv) throws IOException {
+        // Verifica se usuário é dono da loja
+        if (!loja.getUsuario().getId().equals(usuario.getId())) {
+            throw new ValidationException("Você não tem permissão para adicionar produtos a esta loja");
+        }
+
+        long inicio = System.currentTimeMillis();
+        Importacao importacao = new Importacao(loja);
+        List<Linha> lote = new ArrayList<>(tamanhoLote);
+        if (csv) {
+            LeitorCsv leitor = new LeitorCsv(corpo, SEPARADOR_CSV);
+            Map<String, Integer> colunas = lerCabecalho(leitor);
+            List<String> campos;
+            while ((campos = leitor.proximo()) != null) {
+                lote.add(new Linha(leitor.getLinhaDoRegistro(), null, campos));
+                if (lote.size() == tamanhoLote) {
+                    importacao.processar(lote, colunas);
+                    lote.clear();
+                }
+            }
+            importacao.processar(lote, colunas);
+        } else {
+            BufferedReader leitor = corpo instanceof BufferedReader b ? b : new BufferedReader(corpo);
+            String texto;
+            int numero = 0;
+            while ((texto = leitor.readLine()) != null) {
+                numero++;
+                if (texto.isBlank()) {
+                    continue;
+                }
+                lote.add(new Linha(numero, texto, null));
+                if (lote.size() == tamanhoLote) {
+                    importacao.processar(lote, null);
+                    lote.clear();
+                }
+            }
+            importacao.processar(lote, null);
+        }
+
+        log.info("Importação na loja {}: {} linhas, {} produtos gravados em {} ms", loja.getId(),
+                importacao.linhasLidas, importacao.importados, System.currentTimeMillis() - inicio);
+        return new ImportacaoResultadoDTO(importacao.linhasLidas, importacao.importados,
+                importacao.erros, importacao.errosOmitidos);
+    }
+
+    // Nome da coluna (sem diferenciar maiúsculas) -> posição
+    private Map<String, Integer> lerCabecalho(LeitorCsv leitor) throws IOException {
+        List<String> cabecalho = leitor.proximo();
+        if (cabecalho == null) {
+            throw new ValidationException("Arquivo CSV vazio");
+        }
+        Map<String, Integer> colunas = new HashMap<>();
+        for (int i = 0; i < cabecalho.size(); i++) {
+            colunas.putIfAbsent(cabecalho.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> faltando = COLUNAS_OBRIGATORIAS.stream().filter(c -> !colunas.containsKey(c)).toList();
+        if (!faltando.isEmpty()) {
+            throw new ValidationException("Colunas obrigatórias ausentes no CSV: " + String.join(", ", faltando));
+        }
+        return colunas;
+    }
+
+    // Estado de uma importação em andamento (contadores e relatório de erros)
+    private class Importacao {
+
+        private final Loja loja;
+        private final List<ErroLinha> erros = new ArrayList<>();
+        private int linhasLidas;
+        private int importados;
+        private int errosOmitidos;
+
+        Importacao(Loja loja) {
+            this.loja = loja;
+        }
+
+        void processar(List<Linha> lote, Map<String, Integer> colunas) {
+            if (lote.isEmpty()) {
+                return;
+            }
+            linhasLidas += lote.size();
+            LocalDateTime agora = LocalDateTime.now();
+            List<LinhaValidada> validadas = lote.parallelStream()
+                    .map(linha -> validar(linha, colunas, agora))
+                    .toList();
+
+            List<Produto> produtos = new ArrayList<>(validadas.size());
+            for (LinhaValidada validada : validadas) {
+                if (validada.erro() != null) {
+                    registrarErro(validada.numero(), validada.erro());
+                } else {
+                    produtos.add(validada.produto());
+                }
+            }
+            if (produtos.isEmpty()) {
+                return;
+            }
+
+            try {
+                transacao.executeWithoutResult(status -> {
+                    insercaoProdutos.inserir(loja.getId(), produtos);
+                    lojaRepository.ajustarQuantidadeProdutosAtivos(loja.getId(), produtos.size());
+                    // Índices em memória, facetas e versão do catálogo são atualizados após o commit
+                    eventPublisher.publishEvent(new ProdutosAlteradosEvent(produtos));
+                });
+                importados += produtos.size();
+            } catch (DataAccessException e) {
+                // O lote inteiro volta atrás; as linhas válidas dele entram no relatório
+                log.warn("Falha ao gravar lote da importação na loja {}: {}", loja.getId(), e.getMessage());
+                String erro = "Lote não gravado: " + e.getMostSpecificCause().getMessage();
+                for (LinhaValidada validada : validadas) {
+                    if (validada.erro() == null) {
+                        registrarErro(validada.numero(), erro);
+                    }
+                }
+            }
+        }
+
+        private void registrarErro(int linha, String erro) {
+            if (erros.size() < errosMaximo) {
+                erros.add(new ErroLinha(linha, erro));
+            } else {
+                errosOmitidos++;
+            }
+        }
+
+        // Roda nas threads do stream paralelo: só lê o estado compartilhado (loja, colunas)
+        private LinhaValidada validar(Linha linha, Map<String, Integer> colunas, LocalDateTime agora) {
+            try {
+                ProdutoCreateDTO dto = linha.json() != null
+                        ? objectMapper.readValue(linha.json(), ProdutoCreateDTO.class)
+                        : converterCsv(linha.campos(), colunas);
+                if (dto == null) {
+                    return new LinhaValidada(linha.numero(), null, "Linha sem produto");
+                }
+
+                var violacoes = validator.validate(dto);
+                if (!violacoes.isEmpty()) {
+                    return new LinhaValidada(linha.numero(), null, violacoes.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .sorted()
+                            .collect(Collectors.joining("; ")));
+                }
+
+                Produto produto = toProduto(dto, agora);
+                ProdutoService.validarProduto(produto);
+                return new LinhaValidada(linha.numero(), produto, null);
+            } catch (JsonProcessingException e) {
+                return new LinhaValidada(linha.numero(), null, "JSON inválido: " + e.getOriginalMessage());
+            } catch (ValidationException e) {
+                return new LinhaValidada(linha.numero(), null, e.getMessage());
+            }
+        }
+
+        private Produto toProduto(ProdutoCreateDTO dto, LocalDateTime agora) {
+            Produto produto = new Produto();
+            produto.setLoja(loja);
+            produto.setNome(dto.getNome());
+            produto.setDescricao(dto.getDescricao());
+            produto.setPreco(dto.getPreco());
+            produto.setQuantidade(dto.getQuantidade());
+            produto.setFotoUrl(dto.getFotoUrl());
+            produto.setCategoria(dto.getCategoria());
+            produto.setMarca(dto.getMarca());
+            produto.setModelo(dto.getModelo());
+            produto.setDestaque(Boolean.TRUE.equals(dto.getDestaque()));
+            produto.setAtivo(true);
+            produto.setTotalVendas(0);
+            produto.setDataCriacao(agora);
+            produto.setDataAtualizacao(agora);
+            return produto;
+        }
+    }
+
+    // Campos vazios viram null; preço aceita vírgula decimal; destaque aceita true/false, sim/não e 1/0
+    private static ProdutoCreateDTO converterCsv(List<String> campos, Map<String, Integer> colunas) {
+        ProdutoCreateDTO dto = new ProdutoCreateDTO();
+        dto.setNome(campo(campos, colunas, "nome"));
+        dto.setDescricao(campo(campos, colunas, "descricao"));
+        dto.setFotoUrl(campo(campos, colunas, "fotourl"));
+        dto.setCategoria(campo(campos, colunas, "categoria"));
+        dto.setMarca(campo(campos, colunas, "marca"));
+        dto.setModelo(campo(campos, colunas, "modelo"));
+
+        String preco = campo(campos, colunas, "preco");
+        try {
+            dto.setPreco(preco == null ? null : new BigDecimal(preco.replace(',', '.')));
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Preço inválido: " + preco);
+        }
+
+        String quantidade = campo(campos, colunas, "quantidade");
+        try {
+            dto.setQuantidade(quantidade == null ? null : Long.parseLong(quantidade));
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Quantidade inválida: " + quantidade);
+        }
+
+        String destaque = campo(campos, colunas, "destaque");
+        if (destaque != null) {
+            dto.setDestaque(switch (destaque.toLowerCase(Locale.ROOT)) {
+                case "true", "sim", "1" -> true;
+                case "false", "não", "nao", "0" -> false;
+                default -> throw new ValidationException("Destaque inválido: " + destaque);
+            });
+        }
+        return dto;
+    }
+
+    private static String campo(List<String> campos, Map<String, Integer> colunas, String nome) {
+        Integer indice = colunas.get(nome);
+        if (indice == null || indice >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+}
@@ -1,19 +1,35 @@
 package io.github.brunoeugeniodev.marketplace.service;
 
+import io.github.brunoeugeniodev.marketplace.config.CacheSegundoNivelConfig;
+import io.github.brunoeugeniodev.marketplace.dto.LojaDTO;
+import io.github.brunoeugeniodev.marketplace.event.LojaAlteradoEvent;
 import io.github.brunoeugeniodev.marketplace.exception.ResourceNotFoundException;
 import io.github.brunoeugeniodev.marketplace.models.Loja;
 import io.github.brunoeugeniodev.marketplace.models.Usuario;
+import io.github.brunoeugeniodev.marketplace.repository.EspecificacoesBusca;
+import io.github.brunoeugeniodev.marketplace.repository.EstimativaContagem;
 import io.github.brunoeugeniodev.marketplace.repository.LojaRepository;
+import io.github.brunoeugeniodev.marketplace.repository.ResultadoRanqueado;
+import io.github.brunoeugeniodev.marketplace.util.CursorPagina;
+import io.github.brunoeugeniodev.marketplace.util.PaginaCursor;
 import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -22,17 +38,31 @@ public class LojaService {
 
     private final LojaRepository lojaRepository;
     private final ProdutoService produtoService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CepService cepService;
+    private final EstimativaContagem estimativaContagem;
+
+    @Value("${catalogo.limite-padrao:24}")
+    private int limitePadrao;
+
+    @Value("${catalogo.limite-maximo:100}")
+    private int limiteMaximo;
 
     @Transactional
     public Loja criarLoja(Loja loja, Usuario usuario) {
         // Validações
         validarLoja(loja);
+        if (loja.getEndereco() != null) {
+            cepService.normalizar(loja.getEndereco());
+        }
 
         // Associa usuário
         loja.setUsuario(usuario);
         loja.setAtivo(true);
 
-        return lojaRepository.save(loja);
+        Loja lojaSalva = lojaRepository.save(loja);
+        eventPublisher.publishEvent(new LojaAlteradoEvent(lojaSalva));
+        return lojaSalva;
     }
 
     @Transactional
@@ -63,10 +93,13 @@ public class LojaService {
 
                     // Atualiza endereço se fornecido
                     if (lojaAtualizada.getEndereco() != null) {
+                        cepService.normalizar(lojaAtualizada.getEndereco());
                         loja.setEndereco(lojaAtualizada.getEndereco());
                     }
 
-                    return lojaRepository.save(loja);
+                    Loja lojaSalva = lojaRepository.save(loja);
+                    eventPublisher.publishEvent(new LojaAlteradoEvent(lojaSalva));
+                    return lojaSalva;
                 })
                 .orElseThrow(() -> new ResourceNotFoundException("Loja não encontrada"));
     }
@@ -81,17 +114,50 @@ public class LojaService {
                     }
 
                     loja.setFotoUrl(fotoUrl);
-                    return lojaRepository.save(loja);
+                    Loja lojaSalva = lojaRepository.save(loja);
+                    eventPublisher.publishEvent(new LojaAlteradoEvent(lojaSalva));
+                    return lojaSalva;
                 })
                 .orElseThrow(() -> new ResourceNotFoundException("Loja não encontrada"));
     }
 
-    public List<Loja> listarLojasAtivas() {
-        return lojaRepository.findByAtivoTrue();
+    public int normalizarLimite(Integer limite) {
+        if (limite == null || limite <= 0) {
+            return limitePadrao;
+        }
+        return Math.min(limite, limiteMaximo);
+    }
+
+    // Diretório de lojas ativas paginado por keyset; cidade e estado são filtros opcionais
+    @Transactional(readOnly = true)
+    public PaginaCursor<LojaDTO> listarDiretorio(OrdenacaoLojas ordem, String cidade, String estado,
+                                                 String cursor, int tamanho) {
+        String cidadeFiltro = cidade == null || cidade.isBlank() ? null : cidade;
+        String estadoFiltro = estado == null || estado.isBlank() ? null : estado;
+
+        Specification<Loja> filtro = EspecificacoesBusca.ativo();
+        if (cidadeFiltro != null) {
+            filtro = filtro.and(EspecificacoesBusca.naCidade(cidadeFiltro));
+        }
+        if (estadoFiltro != null) {
+            filtro = filtro.and(EspecificacoesBusca.noEstado(estadoFiltro));
+        }
+
+        CursorPagina posicao = CursorPagina.decodificar(cursor, ordem.name());
+        Window<LojaDTO> janela = listarPorKeyset(filtro, ordem.sort(),
+                CursorPagina.posicao(posicao, ordem.getPropriedade(), ordem.getConversor()), tamanho);
+        return new PaginaCursor<>(janela.getContent(),
+                CursorPagina.proximo(janela, ordem.name(), ordem.getPropriedade()),
+                estimativaContagem.lojasAtivas(cidadeFiltro, estadoFiltro));
     }
 
-    public Page<Loja> listarLojasRecomendadas(Pageable pageable) {
-        return lojaRepository.findLojasRecomendadas(pageable);
+    // Mais bem avaliadas primeiro, as mais novas desempatam (lida pela Vitrine). Mesma consulta a cada
+    // página inicial: fica no cache de consultas até alguma loja mudar
+    @Transactional(readOnly = true)
+    public List<LojaDTO> listarRecomendadas(int quantidade) {
+        Sort sort = Sort.by(Sort.Direction.DESC, "avaliacaoMedia", "dataCriacao", "id");
+        return lojaRepository.listarDTOs(EspecificacoesBusca.ativo(), sort, ScrollPosition.keyset(), quantidade,
+                CacheSegundoNivelConfig.LOJAS_RECOMENDADAS).getContent();
     }
 
     public Optional<Loja> buscarPorId(Long id) {
@@ -100,7 +166,7 @@ public class LojaService {
 
     public Optional<Loja> buscarPorIdAtiva(Long id) {
         return lojaRepository.findById(id)
-                .filter(Loja::getAtivo);
+                .filter(loja -> Boolean.TRUE.equals(loja.getAtivo()));
     }
 
     public List<Loja> buscarPorNome(String nome) {
@@ -111,10 +177,53 @@ public class LojaService {
         return lojaRepository.buscarPorTermo(termo);
     }
 
+    public List<Long> buscarIdsPorTextoCompleto(String termo, int limite) {
+        return lojaRepository.buscarIdsPorTextoCompleto(termo, limite);
+    }
+
+    public List<ResultadoRanqueado> buscarPaginaPorTextoCompleto(String termo, float relevancia, long ultimoId, int limite) {
+        return lojaRepository.buscarPaginaPorTextoCompleto(termo, relevancia, ultimoId, limite);
+    }
+
+    // Paginação keyset: o custo de qualquer página é o de buscar "tamanho" linhas a partir da posição.
+    // Projeta direto para o DTO, sem carregar entidades no contexto de persistência
+    @Transactional(readOnly = true)
+    public Window<LojaDTO> listarPorKeyset(Specification<Loja> filtro, Sort sort, ScrollPosition posicao, int tamanho) {
+        return lojaRepository.listarDTOs(filtro, sort, posicao, tamanho);
+    }
+
+    // O limiar e a consulta precisam rodar na mesma transação
+    @Transactional(readOnly = true)
+    public List<Long> buscarIdsPorSimilaridade(String termo, double limiar, int limite) {
+        lojaRepository.definirLimiarSimilaridade(String.valueOf(limiar));
+        return lojaRepository.buscarIdsPorSimilaridade(termo, limite);
+    }
+
+    // Carrega as lojas ativas na mesma ordem dos ids recebidos (ex.: ranking do índice de busca)
+    @Transactional(readOnly = true)
+    public List<LojaDTO> buscarAtivasPorIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, LojaDTO> porId = lojaRepository.listarDTOs(
+                        EspecificacoesBusca.<Loja>ativo().and(EspecificacoesBusca.idEm(ids)), Sort.unsorted())
+                .stream()
+                .collect(Collectors.toMap(LojaDTO::getId, Function.identity()));
+        return ids.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     public List<Loja> listarLojasDoUsuario(Usuario usuario) {
         return lojaRepository.findByUsuarioId(usuario.getId());
     }
 
+    // Cada usuário tem no máximo uma loja no painel "minha loja"
+    public Optional<Loja> buscarLojaDoUsuario(Usuario usuario) {
+        return listarLojasDoUsuario(usuario).stream().findFirst();
+    }
+
     public List<Loja> listarLojasPorUsuarioEmail(String email) {
         return lojaRepository.findByUsuarioEmail(email);
     }
@@ -127,7 +236,9 @@ public class LojaService {
                         throw new ValidationException("Você não tem permissão para desativar esta loja");
                     }
                     loja.setAtivo(false);
-                    return lojaRepository.save(loja);
+                    Loja lojaSalva = lojaRepository.save(loja);
+                    eventPublisher.publishEvent(new LojaAlteradoEvent(lojaSalva));
+                    return lojaSalva;
                 })
                 .orElseThrow(() -> new ResourceNotFoundException("Loja não encontrada"));
     }
@@ -148,6 +259,7 @@ public class LojaService {
         }
 
         lojaRepository.delete(loja);
+        eventPublisher.publishEvent(new LojaAlteradoEvent(loja, true));
     }
 
     public Long contarProdutosAtivosPorLoja(Long lojaId) {
@@ -0,0 +1,11 @@
+package io.github.brunoeugeniodev.marketplace.service;
+
+// Mecanismo usado pelo /api/busca, escolhido pela propriedade busca.modo
+public enum ModoBusca {
+    // Índice invertido em memória (MotorBuscaService), construído em cada nó
+    INDICE,
+    // Full-text do PostgreSQL: coluna tsvector gerada + índice GIN
+    FULLTEXT,
+    // Consultas LIKE originais, sem índice
+    LIKE
+}
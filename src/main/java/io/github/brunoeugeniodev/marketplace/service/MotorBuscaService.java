@@ -0,0 +1,185 @@
+package io.github.brunoeugeniodev.marketplace.service;
+
+import io.github.brunoeugeniodev.marketplace.event.LojaAlteradoEvent;
+import io.github.brunoeugeniodev.marketplace.event.ProdutoAlteradoEvent;
+import io.github.brunoeugeniodev.marketplace.event.ProdutosAlteradosEvent;
+import io.github.brunoeugeniodev.marketplace.models.Loja;
+import io.github.brunoeugeniodev.marketplace.models.Produto;
+import io.github.brunoeugeniodev.marketplace.repository.LojaRepository;
+import io.github.brunoeugeniodev.marketplace.repository.ProdutoRepository;
+import io.github.brunoeugeniodev.marketplace.util.AnalisadorTexto;
+import io.github.brunoeugeniodev.marketplace.util.IndiceInvertido;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Motor de busca em memória: índice invertido sobre produtos e lojas ativos (produtos só de lojas ativas).
+// Construído na inicialização e mantido a partir dos eventos de escrita dos serviços.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MotorBuscaService {
+
+    private static final int TAMANHO_LOTE = 1000;
+
+    private static final float PESO_NOME = 3.0f;
+    private static final float PESO_MARCA_CATEGORIA = 2.0f;
+    private static final float PESO_DESCRICAO = 1.0f;
+
+    private final ProdutoRepository produtoRepository;
+    private final LojaRepository lojaRepository;
+
+    private final IndiceInvertido indiceProdutos = new IndiceInvertido();
+    private final IndiceInvertido indiceLojas = new IndiceInvertido();
+
+    @Value("${busca.modo:indice}")
+    private ModoBusca modoBusca;
+
+    private volatile boolean pronto = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void construirIndice() {
+        // Nos outros modos a busca fica no banco e o índice não ocupa memória
+        if (modoBusca != ModoBusca.INDICE) {
+            log.info("Índice de busca em memória desabilitado (busca.modo={})", modoBusca);
+            return;
+        }
+
+        long inicio = System.currentTimeMillis();
+        indiceProdutos.limpar();
+        indiceLojas.limpar();
+
+        Pageable pagina = PageRequest.of(0, TAMANHO_LOTE, Sort.by("id"));
+        Slice<Produto> produtos;
+        do {
+            produtos = produtoRepository.findByAtivoTrueAndLojaAtivoTrue(pagina);
+            produtos.forEach(this::indexarProduto);
+            pagina = produtos.nextPageable();
+        } while (produtos.hasNext());
+
+        pagina = PageRequest.of(0, TAMANHO_LOTE, Sort.by("id"));
+        Slice<Loja> lojas;
+        do {
+            lojas = lojaRepository.findByAtivoTrue(pagina);
+            lojas.forEach(this::indexarLoja);
+            pagina = lojas.nextPageable();
+        } while (lojas.hasNext());
+
+        pronto = true;
+        log.info("Índice de busca construído: {} produtos, {} lojas em {} ms",
+                indiceProdutos.tamanho(), indiceLojas.tamanho(), System.currentTimeMillis() - inicio);
+    }
+
+    // Enquanto o índice não estiver pronto, a busca cai para as consultas no banco
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    public List<Long> buscarProdutos(String termo) {
+        return indiceProdutos.buscar(AnalisadorTexto.analisar(termo));
+    }
+
+    public List<Long> buscarLojas(String termo) {
+        return indiceLojas.buscar(AnalisadorTexto.analisar(termo));
+    }
+
+    // Antes do VersaoCatalogo: o índice já precisa estar atualizado quando a geração do catálogo mudar
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProdutoAlterado(ProdutoAlteradoEvent event) {
+        if (modoBusca != ModoBusca.INDICE) {
+            return;
+        }
+        Produto produto = event.getProduto();
+        aplicarProduto(produto, event.isRemovido() || !lojaAtiva(produto));
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProdutosAlterados(ProdutosAlteradosEvent event) {
+        if (modoBusca != ModoBusca.INDICE) {
+            return;
+        }
+        Map<Long, Boolean> lojasAtivas = new HashMap<>();
+        event.getProdutos().forEach(produto -> aplicarProduto(produto,
+                !lojasAtivas.computeIfAbsent(idLoja(produto), this::lojaAtiva)));
+    }
+
+    // oculto: removido ou com a loja desativada
+    private void aplicarProduto(Produto produto, boolean oculto) {
+        if (oculto || !Boolean.TRUE.equals(produto.getAtivo())) {
+            indiceProdutos.remover(produto.getId());
+        } else {
+            indexarProduto(produto);
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLojaAlterada(LojaAlteradoEvent event) {
+        if (modoBusca != ModoBusca.INDICE) {
+            return;
+        }
+        Loja loja = event.getLoja();
+        boolean oculta = event.isRemovido() || !Boolean.TRUE.equals(loja.getAtivo());
+        if (oculta) {
+            indiceLojas.remover(loja.getId());
+        } else {
+            indexarLoja(loja);
+        }
+        // Os produtos saem da busca junto com a loja e voltam quando ela é reativada
+        if (!event.isRemovido()) {
+            produtoRepository.findByLojaIdAndAtivoTrue(loja.getId())
+                    .forEach(produto -> aplicarProduto(produto, oculta));
+        }
+    }
+
+    // Só o id da loja: o proxy lazy não é inicializado (a sessão já fechou quando o evento chega)
+    private static Long idLoja(Produto produto) {
+        return produto.getLoja() != null ? produto.getLoja().getId() : null;
+    }
+
+    private boolean lojaAtiva(Produto produto) {
+        return lojaAtiva(idLoja(produto));
+    }
+
+    private boolean lojaAtiva(Long lojaId) {
+        return lojaId != null && lojaRepository.existsByIdAndAtivoTrue(lojaId);
+    }
+
+    private void indexarProduto(Produto produto) {
+        Map<String, Float> frequencias = new HashMap<>();
+        adicionarCampo(frequencias, produto.getNome(), PESO_NOME);
+        adicionarCampo(frequencias, produto.getMarca(), PESO_MARCA_CATEGORIA);
+        adicionarCampo(frequencias, produto.getCategoria(), PESO_MARCA_CATEGORIA);
+        adicionarCampo(frequencias, produto.getDescricao(), PESO_DESCRICAO);
+        indiceProdutos.indexar(produto.getId(), frequencias);
+    }
+
+    private void indexarLoja(Loja loja) {
+        Map<String, Float> frequencias = new HashMap<>();
+        adicionarCampo(frequencias, loja.getNome(), PESO_NOME);
+        adicionarCampo(frequencias, loja.getDescricao(), PESO_DESCRICAO);
+        indiceLojas.indexar(loja.getId(), frequencias);
+    }
+
+    private void adicionarCampo(Map<String, Float> frequencias, String texto, float peso) {
+        for (String termo : AnalisadorTexto.analisar(texto)) {
+            frequencias.merge(termo, peso, Float::sum);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.brunoeugeniodev.marketplace.service;
+
+import io.github.brunoeugeniodev.marketplace.exception.ApiException;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.function.Function;
+
+// Ordenações aceitas pela busca e pelo catálogo de produtos. Todas usam o id como desempate,
+// o que torna a chave (propriedade, id) única e permite paginação keyset.
+public enum OrdenacaoBusca {
+    RELEVANCIA(null, Sort.Direction.DESC, null),
+    PRECO_ASC("preco", Sort.Direction.ASC, BigDecimal::new),
+    PRECO_DESC("preco", Sort.Direction.DESC, BigDecimal::new),
+    MAIS_VENDIDOS("totalVendas", Sort.Direction.DESC, Integer::valueOf),
+    MAIS_RECENTES("dataCriacao", Sort.Direction.DESC, LocalDateTime::parse),
+    MELHOR_AVALIADOS("avaliacaoMedia", Sort.Direction.DESC, Double::valueOf);
+
+    private final String propriedade;
+    private final Sort.Direction direcao;
+    private final Function<String, ?> conversor;
+
+    OrdenacaoBusca(String propriedade, Sort.Direction direcao, Function<String, ?> conversor) {
+        this.propriedade = propriedade;
+        this.direcao = direcao;
+        this.conversor = conversor;
+    }
+
+    public String getPropriedade() {
+        return propriedade;
+    }
+
+    public Function<String, ?> getConversor() {
+        return conversor;
+    }
+
+    // Sem propriedade (relevância fora do índice, ou catálogo sem termo), a ordem keyset é só por id, do mais novo para o mais antigo
+    public Sort sort() {
+        Sort porId = Sort.by(direcao, "id");
+        return propriedade == null ? porId : Sort.by(direcao, propriedade).and(porId);
+    }
+
+    // Aceita "preco_asc", "PRECO-ASC" etc.; ausente = relevância
+    public static OrdenacaoBusca de(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return RELEVANCIA;
+        }
+        try {
+            return valueOf(valor.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ApiException("Ordenação inválida: " + valor, HttpStatus.BAD_REQUEST);
+        }
+    }
+}
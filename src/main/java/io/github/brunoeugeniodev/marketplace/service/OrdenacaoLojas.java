@@ -0,0 +1,53 @@
+package io.github.brunoeugeniodev.marketplace.service;
+
+import io.github.brunoeugeniodev.marketplace.exception.ApiException;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.function.Function;
+
+// Ordenações do diretório de lojas (valores do filtro "Ordenar por" de lojas.html).
+// Como em OrdenacaoBusca, o id desempata e a chave (propriedade, id) permite paginação keyset.
+public enum OrdenacaoLojas {
+    // Lojas com mais avaliações primeiro, o mesmo peso usado nas sugestões de busca
+    RELEVANCIA("totalAvaliacoes", Sort.Direction.DESC, Integer::valueOf),
+    AVALIACAO("avaliacaoMedia", Sort.Direction.DESC, Double::valueOf),
+    NOVAS("dataCriacao", Sort.Direction.DESC, LocalDateTime::parse),
+    NOME("nome", Sort.Direction.ASC, Function.identity());
+
+    private final String propriedade;
+    private final Sort.Direction direcao;
+    private final Function<String, ?> conversor;
+
+    OrdenacaoLojas(String propriedade, Sort.Direction direcao, Function<String, ?> conversor) {
+        this.propriedade = propriedade;
+        this.direcao = direcao;
+        this.conversor = conversor;
+    }
+
+    public String getPropriedade() {
+        return propriedade;
+    }
+
+    public Function<String, ?> getConversor() {
+        return conversor;
+    }
+
+    public Sort sort() {
+        return Sort.by(direcao, propriedade).and(Sort.by(direcao, "id"));
+    }
+
+    // Aceita "nome", "NOVAS" etc.; ausente = relevância
+    public static OrdenacaoLojas de(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return RELEVANCIA;
+        }
+        try {
+            return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ApiException("Ordenação inválida: " + valor, HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -1,28 +1,72 @@
 package io.github.brunoeugeniodev.marketplace.service;
 
+import io.github.brunoeugeniodev.marketplace.dto.ProdutoAtualizacaoMassaDTO;
+import io.github.brunoeugeniodev.marketplace.dto.ProdutoDTO;
+import io.github.brunoeugeniodev.marketplace.event.ProdutoAlteradoEvent;
+import io.github.brunoeugeniodev.marketplace.event.ProdutosAlteradosEvent;
 import io.github.brunoeugeniodev.marketplace.exception.ResourceNotFoundException;
 import io.github.brunoeugeniodev.marketplace.models.Loja;
 import io.github.brunoeugeniodev.marketplace.models.Produto;
 import io.github.brunoeugeniodev.marketplace.models.Usuario;
+import io.github.brunoeugeniodev.marketplace.repository.AtualizacaoProdutos;
+import io.github.brunoeugeniodev.marketplace.repository.EspecificacoesBusca;
+import io.github.brunoeugeniodev.marketplace.repository.EstimativaContagem;
+import io.github.brunoeugeniodev.marketplace.repository.LojaRepository;
 import io.github.brunoeugeniodev.marketplace.repository.ProdutoRepository;
+import io.github.brunoeugeniodev.marketplace.repository.ResultadoRanqueado;
+import io.github.brunoeugeniodev.marketplace.repository.VersaoProdutosLoja;
+import io.github.brunoeugeniodev.marketplace.util.CursorPagina;
+import io.github.brunoeugeniodev.marketplace.util.PaginaCursor;
+import io.github.brunoeugeniodev.marketplace.util.RespostaCondicional;
 import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ProdutoService {
 
+    // Ids por consulta ao recarregar produtos alterados em massa
+    private static final int IDS_POR_CONSULTA = 1000;
+
     private final ProdutoRepository produtoRepository;
+    private final LojaRepository lojaRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EstimativaContagem estimativaContagem;
+    private final AtualizacaoProdutos atualizacaoProdutos;
+
+    @Value("${catalogo.limite-padrao:24}")
+    private int limitePadrao;
+
+    @Value("${catalogo.limite-maximo:100}")
+    private int limiteMaximo;
+
+    @Value("${exportacao.tamanho-lote:1000}")
+    private int tamanhoLoteExportacao;
 
     @Transactional
     public Produto criarProduto(Produto produto, Loja loja, Usuario usuario) {
@@ -39,7 +83,10 @@ public class ProdutoService {
         produto.setAtivo(true);
         produto.setTotalVendas(0);
 
-        return produtoRepository.save(produto);
+        Produto produtoSalvo = produtoRepository.save(produto);
+        lojaRepository.ajustarQuantidadeProdutosAtivos(loja.getId(), 1);
+        eventPublisher.publishEvent(new ProdutoAlteradoEvent(produtoSalvo));
+        return produtoSalvo;
     }
 
     @Transactional
@@ -64,11 +111,67 @@ public class ProdutoService {
                     produto.setModelo(produtoAtualizado.getModelo());
                     produto.setDestaque(produtoAtualizado.getDestaque());
 
-                    return produtoRepository.save(produto);
+                    Produto produtoSalvo = produtoRepository.save(produto);
+                    eventPublisher.publishEvent(new ProdutoAlteradoEvent(produtoSalvo));
+                    return produtoSalvo;
                 })
                 .orElseThrow(() -> new ResourceNotFoundException("Produto não encontrado"));
     }
 
+    // Preço, estoque, ativo e destaque de vários produtos da loja em poucos UPDATEs set-based, sem carregar
+    // loja e usuário de cada produto. Um único evento para o lote: a geração do catálogo muda uma vez.
+    // Devolve quantos produtos mudaram (ids de outras lojas e valores iguais aos atuais não contam).
+    @Transactional
+    public int atualizarEmMassa(Loja loja, Usuario usuario, ProdutoAtualizacaoMassaDTO alteracoes) {
+        // Verifica se usuário é dono da loja
+        if (!loja.getUsuario().getId().equals(usuario.getId())) {
+            throw new ValidationException("Você não tem permissão para editar produtos desta loja");
+        }
+
+        boolean temItens = alteracoes.getItens() != null && !alteracoes.getItens().isEmpty();
+        boolean temRegra = alteracoes.getRegra() != null;
+        if (temItens == temRegra) {
+            throw new ValidationException("Informe itens ou regra");
+        }
+
+        List<Long> alterados;
+        boolean ativoAlterado;
+        if (temItens) {
+            // Id repetido fica com o último valor informado
+            Map<Long, AtualizacaoProdutos.Valores> porId = new LinkedHashMap<>();
+            for (ProdutoAtualizacaoMassaDTO.Item item : alteracoes.getItens()) {
+                porId.put(item.getId(), new AtualizacaoProdutos.Valores(item.getId(), item.getPreco(),
+                        item.getQuantidade(), item.getAtivo(), item.getDestaque()));
+            }
+            alterados = atualizacaoProdutos.atualizar(loja.getId(), new ArrayList<>(porId.values()));
+            ativoAlterado = alteracoes.getItens().stream().anyMatch(item -> item.getAtivo() != null);
+        } else {
+            ProdutoAtualizacaoMassaDTO.Regra regra = alteracoes.getRegra();
+            if (regra.getPercentual() == null && regra.getAtivo() == null && regra.getDestaque() == null) {
+                throw new ValidationException("Regra sem alteração: informe percentual, ativo ou destaque");
+            }
+            alterados = atualizacaoProdutos.reajustar(loja.getId(), regra.getCategoria(), regra.getMarca(),
+                    regra.getPercentual(), regra.getAtivo(), regra.getDestaque());
+            ativoAlterado = regra.getAtivo() != null;
+        }
+
+        if (alterados.isEmpty()) {
+            return 0;
+        }
+        if (ativoAlterado) {
+            lojaRepository.recalcularQuantidadeProdutosAtivos(loja.getId());
+        }
+        // Os índices em memória precisam do estado novo; recarregado em partes para não estourar o IN (...)
+        List<Produto> produtos = new ArrayList<>(alterados.size());
+        for (int inicio = 0; inicio < alterados.size(); inicio += IDS_POR_CONSULTA) {
+            produtos.addAll(produtoRepository.recarregar(
+                    alterados.subList(inicio, Math.min(inicio + IDS_POR_CONSULTA, alterados.size()))));
+        }
+        eventPublisher.publishEvent(new ProdutosAlteradosEvent(produtos));
+        log.info("Atualização em massa na loja {}: {} produtos alterados", loja.getId(), alterados.size());
+        return alterados.size();
+    }
+
     @Transactional
     public Produto atualizarFotoProduto(Long id, String fotoUrl, Usuario usuario) {
         return produtoRepository.findById(id)
@@ -79,13 +182,30 @@ public class ProdutoService {
                     }
 
                     produto.setFotoUrl(fotoUrl);
-                    return produtoRepository.save(produto);
+                    Produto produtoSalvo = produtoRepository.save(produto);
+                    eventPublisher.publishEvent(new ProdutoAlteradoEvent(produtoSalvo));
+                    return produtoSalvo;
                 })
                 .orElseThrow(() -> new ResourceNotFoundException("Produto não encontrado"));
     }
 
-    public List<Produto> listarProdutosAtivos() {
-        return produtoRepository.findProdutosAtivos();
+    public int normalizarLimite(Integer limite) {
+        if (limite == null || limite <= 0) {
+            return limitePadrao;
+        }
+        return Math.min(limite, limiteMaximo);
+    }
+
+    // Catálogo paginado por keyset (produtos ativos de lojas ativas); RELEVANCIA = mais novos por id
+    @Transactional(readOnly = true)
+    public PaginaCursor<ProdutoDTO> listarCatalogo(OrdenacaoBusca ordem, String cursor, int tamanho) {
+        CursorPagina posicao = CursorPagina.decodificar(cursor, ordem.name());
+        Specification<Produto> filtro = EspecificacoesBusca.<Produto>ativo().and(EspecificacoesBusca.lojaAtiva());
+        Window<ProdutoDTO> janela = listarPorKeyset(filtro, ordem.sort(),
+                CursorPagina.posicao(posicao, ordem.getPropriedade(), ordem.getConversor()), tamanho);
+        return new PaginaCursor<>(janela.getContent(),
+                CursorPagina.proximo(janela, ordem.name(), ordem.getPropriedade()),
+                estimativaContagem.produtosAtivos());
     }
 
     public Page<Produto> listarProdutosDestaque(Pageable pageable) {
@@ -96,12 +216,78 @@ public class ProdutoService {
         return produtoRepository.buscarPorTermo(termo);
     }
 
+    public List<Long> buscarIdsPorTermo(String termo, int limite) {
+        return produtoRepository.buscarIdsPorTermo(termo, PageRequest.of(0, limite));
+    }
+
+    public List<Long> buscarIdsPorTextoCompleto(String termo, int limite) {
+        return produtoRepository.buscarIdsPorTextoCompleto(termo, limite);
+    }
+
+    public List<ResultadoRanqueado> buscarPaginaPorTextoCompleto(String termo, float relevancia, long ultimoId, int limite) {
+        return produtoRepository.buscarPaginaPorTextoCompleto(termo, relevancia, ultimoId, limite);
+    }
+
+    // Exportação do catálogo inteiro (produtos ativos de lojas ativas, por id) em fluxo: cada produto é
+    // entregue ao destino assim que lido, com tamanhoLoteExportacao linhas por ida ao banco.
+    // A transação fica aberta até o fim da exportação (o fetch size do PostgreSQL depende dela)
+    @Transactional(readOnly = true)
+    public void exportarCatalogo(Consumer<ProdutoDTO> destino) {
+        Specification<Produto> filtro = EspecificacoesBusca.<Produto>ativo().and(EspecificacoesBusca.lojaAtiva());
+        try (Stream<ProdutoDTO> produtos = produtoRepository.transmitirDTOs(filtro, Sort.by("id"), tamanhoLoteExportacao)) {
+            produtos.forEach(destino);
+        }
+    }
+
+    // Paginação keyset: o custo de qualquer página é o de buscar "tamanho" linhas a partir da posição.
+    // Projeta direto para o DTO, sem carregar entidades no contexto de persistência
+    @Transactional(readOnly = true)
+    public Window<ProdutoDTO> listarPorKeyset(Specification<Produto> filtro, Sort sort, ScrollPosition posicao, int tamanho) {
+        return produtoRepository.listarDTOs(filtro, sort, posicao, tamanho);
+    }
+
+    // O limiar e a consulta precisam rodar na mesma transação
+    @Transactional(readOnly = true)
+    public List<Long> buscarIdsPorSimilaridade(String termo, double limiar, int limite) {
+        produtoRepository.definirLimiarSimilaridade(String.valueOf(limiar));
+        return produtoRepository.buscarIdsPorSimilaridade(termo, limite);
+    }
+
+    // Carrega os produtos ativos na mesma ordem dos ids recebidos (ex.: ranking do índice de busca)
+    @Transactional(readOnly = true)
+    public List<ProdutoDTO> buscarAtivosPorIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProdutoDTO> porId = produtoRepository.listarDTOs(
+                        EspecificacoesBusca.<Produto>ativo().and(EspecificacoesBusca.lojaAtiva())
+                                .and(EspecificacoesBusca.idEm(ids)), Sort.unsorted())
+                .stream()
+                .collect(Collectors.toMap(ProdutoDTO::getId, Function.identity()));
+        return ids.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     public List<Produto> buscarPorNome(String nome) {
         return produtoRepository.buscarPorNome(nome);
     }
 
-    public List<Produto> listarProdutosPorLoja(Long lojaId) {
-        return produtoRepository.findByLojaIdAndAtivoTrue(lojaId);
+    // Vitrine da loja: mais novos primeiro
+    @Transactional(readOnly = true)
+    public List<ProdutoDTO> listarProdutosPorLoja(Long lojaId) {
+        return produtoRepository.listarDTOs(
+                EspecificacoesBusca.<Produto>ativo().and(EspecificacoesBusca.daLoja(lojaId)),
+                Sort.by(Sort.Direction.DESC, "id"));
+    }
+
+    // ETag de listarProdutosPorLoja calculado só com agregados, para responder 304 sem carregar a lista
+    @Transactional(readOnly = true)
+    public String etagProdutosPorLoja(Long lojaId) {
+        VersaoProdutosLoja versao = produtoRepository.versaoProdutosPorLoja(lojaId);
+        return RespostaCondicional.etag("produtos-loja", lojaId, versao.getQuantidade(), versao.getSomaIds(),
+                versao.getUltimaAtualizacao(), versao.getLojaAtualizacao());
     }
 
     public Page<Produto> listarMaisVendidosPorLoja(Long lojaId, Pageable pageable) {
@@ -110,7 +296,7 @@ public class ProdutoService {
 
     public Optional<Produto> buscarProdutoAtivoPorId(Long id) {
         return produtoRepository.findById(id)
-                .filter(Produto::getAtivo)
+                .filter(p -> Boolean.TRUE.equals(p.getAtivo()))
                 .filter(p -> p.getLoja() != null && Boolean.TRUE.equals(p.getLoja().getAtivo()));
     }
 
@@ -127,8 +313,13 @@ public class ProdutoService {
                         throw new ValidationException("Você não tem permissão para desativar este produto");
                     }
 
+                    if (Boolean.TRUE.equals(produto.getAtivo())) {
+                        lojaRepository.ajustarQuantidadeProdutosAtivos(produto.getLoja().getId(), -1);
+                    }
                     produto.setAtivo(false);
-                    return produtoRepository.save(produto);
+                    Produto produtoSalvo = produtoRepository.save(produto);
+                    eventPublisher.publishEvent(new ProdutoAlteradoEvent(produtoSalvo));
+                    return produtoSalvo;
                 })
                 .orElseThrow(() -> new ResourceNotFoundException("Produto não encontrado"));
     }
@@ -149,6 +340,10 @@ public class ProdutoService {
         }
 
         produtoRepository.delete(produto);
+        if (Boolean.TRUE.equals(produto.getAtivo())) {
+            lojaRepository.ajustarQuantidadeProdutosAtivos(produto.getLoja().getId(), -1);
+        }
+        eventPublisher.publishEvent(new ProdutoAlteradoEvent(produto, true));
     }
 
     @Transactional
@@ -158,7 +353,9 @@ public class ProdutoService {
                     if (produto.getQuantidade() >= quantidadeVendida) {
                         produto.setQuantidade(produto.getQuantidade() - quantidadeVendida);
                         produto.setTotalVendas(produto.getTotalVendas() + quantidadeVendida.intValue());
-                        return produtoRepository.save(produto);
+                        Produto produtoSalvo = produtoRepository.save(produto);
+                        eventPublisher.publishEvent(new ProdutoAlteradoEvent(produtoSalvo));
+                        return produtoSalvo;
                     } else {
                         throw new ValidationException("Estoque insuficiente para o produto: " + produto.getNome());
                     }
@@ -170,8 +367,8 @@ public class ProdutoService {
         return produtoRepository.countProdutosAtivosPorLoja(lojaId);
     }
 
-    // Método auxiliar para validação
-    private void validarProduto(Produto produto) {
+    // Método auxiliar para validação (também usado, em paralelo, pela ImportacaoProdutoService)
+    static void validarProduto(Produto produto) {
         if (produto.getNome() == null || produto.getNome().trim().isEmpty()) {
             throw new ValidationException("Nome do produto é obrigatório");
         }
@@ -0,0 +1,183 @@
+package io.github.brunoeugeniodev.marketplace.service;
+
+import io.github.brunoeugeniodev.marketplace.dto.SugestaoDTO;
+import io.github.brunoeugeniodev.marketplace.event.LojaAlteradoEvent;
+import io.github.brunoeugeniodev.marketplace.event.ProdutoAlteradoEvent;
+import io.github.brunoeugeniodev.marketplace.event.ProdutosAlteradosEvent;
+import io.github.brunoeugeniodev.marketplace.models.Loja;
+import io.github.brunoeugeniodev.marketplace.models.Produto;
+import io.github.brunoeugeniodev.marketplace.repository.LojaRepository;
+import io.github.brunoeugeniodev.marketplace.repository.ProdutoRepository;
+import io.github.brunoeugeniodev.marketplace.util.AnalisadorTexto;
+import io.github.brunoeugeniodev.marketplace.util.ArvorePrefixos;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Autocomplete da barra de busca: nomes de produtos, marcas, categorias e nomes de lojas
+// numa trie em memória, ponderada pela popularidade (vendas dos produtos, avaliações das lojas).
+// Só entram produtos ativos de lojas ativas, o mesmo critério do catálogo.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SugestaoService {
+
+    public static final String TIPO_PRODUTO = "PRODUTO";
+    public static final String TIPO_MARCA = "MARCA";
+    public static final String TIPO_CATEGORIA = "CATEGORIA";
+    public static final String TIPO_LOJA = "LOJA";
+
+    private static final int TAMANHO_LOTE = 1000;
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private record Contribuicao(String chave, String texto, String tipo, double peso) {
+    }
+
+    private final ProdutoRepository produtoRepository;
+    private final LojaRepository lojaRepository;
+
+    private final ArvorePrefixos arvore = new ArvorePrefixos();
+
+    // O que cada produto/loja somou na árvore, para desfazer quando ele mudar
+    private final Map<Long, List<Contribuicao>> contribuicoesProdutos = new HashMap<>();
+    private final Map<Long, List<Contribuicao>> contribuicoesLojas = new HashMap<>();
+
+    @Value("${busca.sugestoes.limite-padrao:8}")
+    private int limitePadrao;
+
+    @Value("${busca.sugestoes.limite-maximo:20}")
+    private int limiteMaximo;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void construir() {
+        long inicio = System.currentTimeMillis();
+        arvore.limpar();
+        contribuicoesProdutos.clear();
+        contribuicoesLojas.clear();
+
+        Pageable pagina = PageRequest.of(0, TAMANHO_LOTE, Sort.by("id"));
+        Slice<Produto> produtos;
+        do {
+            produtos = produtoRepository.findByAtivoTrueAndLojaAtivoTrue(pagina);
+            produtos.forEach(this::aplicarProduto);
+            pagina = produtos.nextPageable();
+        } while (produtos.hasNext());
+
+        pagina = PageRequest.of(0, TAMANHO_LOTE, Sort.by("id"));
+        Slice<Loja> lojas;
+        do {
+            lojas = lojaRepository.findByAtivoTrue(pagina);
+            lojas.forEach(this::aplicarLoja);
+            pagina = lojas.nextPageable();
+        } while (lojas.hasNext());
+
+        log.info("Sugestões de busca construídas: {} termos em {} ms",
+                arvore.tamanho(), System.currentTimeMillis() - inicio);
+    }
+
+    public List<SugestaoDTO> sugerir(String prefixo, Integer limite) {
+        int k = limite == null || limite <= 0 ? limitePadrao : Math.min(limite, limiteMaximo);
+        return arvore.buscar(chave(prefixo), k).stream()
+                .map(sugestao -> new SugestaoDTO(sugestao.texto(), sugestao.tipo()))
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProdutoAlterado(ProdutoAlteradoEvent event) {
+        Produto produto = event.getProduto();
+        reaplicarProduto(produto, event.isRemovido() || !lojaAtiva(idLoja(produto)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProdutosAlterados(ProdutosAlteradosEvent event) {
+        Map<Long, Boolean> lojasAtivas = new HashMap<>();
+        event.getProdutos().forEach(produto -> reaplicarProduto(produto,
+                !lojasAtivas.computeIfAbsent(idLoja(produto), this::lojaAtiva)));
+    }
+
+    // oculto: removido ou com a loja desativada
+    private void reaplicarProduto(Produto produto, boolean oculto) {
+        desfazer(contribuicoesProdutos.remove(produto.getId()));
+        if (!oculto && Boolean.TRUE.equals(produto.getAtivo())) {
+            aplicarProduto(produto);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onLojaAlterada(LojaAlteradoEvent event) {
+        Loja loja = event.getLoja();
+        boolean oculta = event.isRemovido() || !Boolean.TRUE.equals(loja.getAtivo());
+        desfazer(contribuicoesLojas.remove(loja.getId()));
+        if (!oculta) {
+            aplicarLoja(loja);
+        }
+        // Os produtos da loja somem das sugestões com ela e voltam quando ela é reativada
+        if (!event.isRemovido()) {
+            produtoRepository.findByLojaIdAndAtivoTrue(loja.getId())
+                    .forEach(produto -> reaplicarProduto(produto, oculta));
+        }
+    }
+
+    // Só o id da loja: o proxy lazy não é inicializado (a sessão já fechou quando o evento chega)
+    private static Long idLoja(Produto produto) {
+        return produto.getLoja() != null ? produto.getLoja().getId() : null;
+    }
+
+    private boolean lojaAtiva(Long lojaId) {
+        return lojaId != null && lojaRepository.existsByIdAndAtivoTrue(lojaId);
+    }
+
+    private void aplicarProduto(Produto produto) {
+        double peso = 1.0 + (produto.getTotalVendas() != null ? produto.getTotalVendas() : 0);
+        List<Contribuicao> contribuicoes = new ArrayList<>(3);
+        adicionar(contribuicoes, produto.getNome(), TIPO_PRODUTO, peso);
+        adicionar(contribuicoes, produto.getMarca(), TIPO_MARCA, peso);
+        adicionar(contribuicoes, produto.getCategoria(), TIPO_CATEGORIA, peso);
+        contribuicoesProdutos.put(produto.getId(), contribuicoes);
+    }
+
+    private void aplicarLoja(Loja loja) {
+        double peso = 1.0 + (loja.getTotalAvaliacoes() != null ? loja.getTotalAvaliacoes() : 0);
+        List<Contribuicao> contribuicoes = new ArrayList<>(1);
+        adicionar(contribuicoes, loja.getNome(), TIPO_LOJA, peso);
+        contribuicoesLojas.put(loja.getId(), contribuicoes);
+    }
+
+    private void adicionar(List<Contribuicao> contribuicoes, String texto, String tipo, double peso) {
+        String chave = chave(texto);
+        if (chave.isEmpty()) {
+            return;
+        }
+        Contribuicao contribuicao = new Contribuicao(chave, texto.trim(), tipo, peso);
+        arvore.ajustar(contribuicao.chave(), contribuicao.texto(), contribuicao.tipo(), contribuicao.peso());
+        contribuicoes.add(contribuicao);
+    }
+
+    private void desfazer(List<Contribuicao> contribuicoes) {
+        if (contribuicoes == null) {
+            return;
+        }
+        for (Contribuicao contribuicao : contribuicoes) {
+            arvore.ajustar(contribuicao.chave(), contribuicao.texto(), contribuicao.tipo(), -contribuicao.peso());
+        }
+    }
+
+    // Mesma normalização do índice de busca ("Pão  de Queijo" -> "pao de queijo")
+    private String chave(String texto) {
+        return ESPACOS.matcher(AnalisadorTexto.normalizar(texto)).replaceAll(" ").trim();
+    }
+}
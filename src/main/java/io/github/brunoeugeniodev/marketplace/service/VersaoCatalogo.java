@@ -0,0 +1,48 @@
+package io.github.brunoeugeniodev.marketplace.service;
+
+import io.github.brunoeugeniodev.marketplace.event.LojaAlteradoEvent;
+import io.github.brunoeugeniodev.marketplace.event.ProdutoAlteradoEvent;
+import io.github.brunoeugeniodev.marketplace.event.ProdutosAlteradosEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Contadores de geração do catálogo: mudam a cada escrita confirmada em produtos ou lojas.
+// Caches usam a geração na chave, então uma escrita torna as entradas antigas inalcançáveis
+// sem precisar varrer nem limpar o cache.
+@Component
+public class VersaoCatalogo {
+
+    private final AtomicLong produtos = new AtomicLong();
+    private final AtomicLong lojas = new AtomicLong();
+
+    public long getProdutos() {
+        return produtos.get();
+    }
+
+    public long getLojas() {
+        return lojas.get();
+    }
+
+    // Roda por último: os índices em memória já refletem a escrita quando a geração muda
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProdutoAlterado(ProdutoAlteradoEvent event) {
+        produtos.incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProdutosAlterados(ProdutosAlteradosEvent event) {
+        produtos.incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLojaAlterada(LojaAlteradoEvent event) {
+        lojas.incrementAndGet();
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.brunoeugeniodev.marketplace.service;
+
+import io.github.brunoeugeniodev.marketplace.dto.LojaDTO;
+import io.github.brunoeugeniodev.marketplace.dto.ProdutoDTO;
+import io.github.brunoeugeniodev.marketplace.util.PaginaCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+// Listas de vitrine iguais para todos os visitantes (mais vendidos, lojas mais relevantes e recomendadas),
+// recalculadas em segundo plano a cada vitrine.intervalo e publicadas como um objeto imutável.
+// As requisições só leem a referência atual; nenhuma consulta de ranking roda no caminho da requisição.
+@Component
+@Slf4j
+public class Vitrine {
+
+    // versao só muda quando o conteúdo muda, então serve de chave para o HTML renderizado a partir dela
+    public record Instantaneo(long versao, Instant geradoEm,
+                              PaginaCursor<ProdutoDTO> maisVendidos,
+                              List<LojaDTO> lojasRelevantes,
+                              List<LojaDTO> lojasRecomendadas) {
+
+        static final Instantaneo VAZIO = new Instantaneo(0, Instant.EPOCH,
+                new PaginaCursor<>(List.of(), null, 0), List.of(), List.of());
+
+        // Só o que as páginas exibem: o totalEstimado vem do planner e oscila sem o conteúdo mudar,
+        // o que trocaria a versão (e o HTML em cache) à toa
+        boolean mesmoConteudo(Instantaneo outro) {
+            return maisVendidos.itens().equals(outro.maisVendidos.itens())
+                    && Objects.equals(maisVendidos.proximoCursor(), outro.maisVendidos.proximoCursor())
+                    && lojasRelevantes.equals(outro.lojasRelevantes)
+                    && lojasRecomendadas.equals(outro.lojasRecomendadas);
+        }
+    }
+
+    private final ProdutoService produtoService;
+    private final LojaService lojaService;
+
+    // Lojas da home; a página de mais vendidos usa o tamanho padrão do catálogo
+    @Value("${catalogo.home.quantidade:12}")
+    private int quantidadeHome;
+
+    @Value("${vitrine.lojas-recomendadas:5}")
+    private int quantidadeRecomendadas;
+
+    // Só é escrito por atualizar() (synchronized); leitores veem sempre um instantâneo completo
+    private volatile Instantaneo atual = Instantaneo.VAZIO;
+
+    public Vitrine(ProdutoService produtoService, LojaService lojaService) {
+        this.produtoService = produtoService;
+        this.lojaService = lojaService;
+    }
+
+    public Instantaneo atual() {
+        return atual;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        atualizar();
+    }
+
+    // Se o recálculo falhar (ex.: banco fora do ar), continua servindo o instantâneo anterior
+    @Scheduled(fixedDelayString = "${vitrine.intervalo:30s}", initialDelayString = "${vitrine.intervalo:30s}")
+    public synchronized void atualizar() {
+        try {
+            long inicio = System.currentTimeMillis();
+            Instantaneo anterior = atual;
+            Instantaneo novo = new Instantaneo(anterior.versao() + 1, Instant.now(),
+                    produtoService.listarCatalogo(OrdenacaoBusca.MAIS_VENDIDOS, null,
+                            produtoService.normalizarLimite(null)),
+                    lojaService.listarDiretorio(OrdenacaoLojas.RELEVANCIA, null, null, null, quantidadeHome).itens(),
+                    lojaService.listarRecomendadas(quantidadeRecomendadas));
+            if (novo.mesmoConteudo(anterior)) {
+                return;
+            }
+            atual = novo;
+            log.debug("Vitrine atualizada (versão {}) em {} ms", novo.versao(), System.currentTimeMillis() - inicio);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao atualizar a vitrine, mantendo a versão {}: {}", atual.versao(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.brunoeugeniodev.marketplace.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Análise de texto em português usada pelo índice de busca:
+// minúsculas, remoção de acentos, stopwords e um stemmer leve de plurais
+public final class AnalisadorTexto {
+
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "as", "os", "um", "uma", "uns", "umas",
+            "de", "do", "da", "dos", "das", "em", "no", "na", "nos", "nas",
+            "por", "pelo", "pela", "pelos", "pelas", "para", "pra", "com", "sem",
+            "e", "ou", "que", "se", "ao", "aos", "sob", "sobre"
+    );
+
+    private AnalisadorTexto() {
+    }
+
+    // Remove acentos e converte para minúsculas ("Ação" -> "acao")
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = DIACRITICOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return semAcentos.toLowerCase(Locale.ROOT);
+    }
+
+    // Quebra o texto em termos normalizados e reduzidos ao radical
+    public static List<String> analisar(String texto) {
+        List<String> termos = new ArrayList<>();
+        if (texto == null || texto.isBlank()) {
+            return termos;
+        }
+
+        for (String token : SEPARADORES.split(normalizar(texto))) {
+            if (token.isEmpty() || STOPWORDS.contains(token)) {
+                continue;
+            }
+            termos.add(reduzir(token));
+        }
+        return termos;
+    }
+
+    // Stemmer leve: só trata plurais, que é o que mais diverge entre busca e cadastro
+    static String reduzir(String termo) {
+        if (termo.length() <= 3 || Character.isDigit(termo.charAt(termo.length() - 1))) {
+            return termo;
+        }
+        if (termo.endsWith("oes") || termo.endsWith("aes")) {
+            return termo.substring(0, termo.length() - 3) + "ao";
+        }
+        if (termo.endsWith("ais")) {
+            return termo.substring(0, termo.length() - 3) + "al";
+        }
+        if (termo.length() > 4 && termo.endsWith("eis")) {
+            return termo.substring(0, termo.length() - 3) + "el";
+        }
+        if (termo.endsWith("ois")) {
+            return termo.substring(0, termo.length() - 3) + "ol";
+        }
+        if (termo.endsWith("res") || termo.endsWith("zes")) {
+            return termo.substring(0, termo.length() - 2);
+        }
+        if (termo.endsWith("ns")) {
+            return termo.substring(0, termo.length() - 2) + "m";
+        }
+        if (termo.endsWith("s") && !termo.endsWith("ss")) {
+            return termo.substring(0, termo.length() - 1);
+        }
+        return termo;
+    }
+}
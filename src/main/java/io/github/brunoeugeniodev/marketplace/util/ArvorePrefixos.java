@@ -0,0 +1,160 @@
+package io.github.brunoeugeniodev.marketplace.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Trie ponderada para autocomplete. Cada nó guarda o maior peso da sua subárvore,
+// o que permite achar os k melhores completamentos sem percorrer a subárvore inteira.
+// Os pesos são acumulativos: várias fontes (ex.: produtos da mesma marca) somam no mesmo termo.
+public class ArvorePrefixos {
+
+    public record Sugestao(String texto, String tipo, double peso) {
+    }
+
+    private static final class No {
+        private final Map<Character, No> filhos = new HashMap<>(4);
+        private String texto;
+        private String tipo;
+        private double peso;
+        private double pesoMaximo;
+    }
+
+    // Item da fila de prioridade: um nó a expandir ou um termo pronto para ser retornado
+    private record Candidato(No no, boolean termo, double prioridade) {
+    }
+
+    private final No raiz = new No();
+    private int totalTermos;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Soma (ou subtrai, com delta negativo) peso ao termo; o termo sai da árvore quando o peso zera
+    public void ajustar(String chave, String texto, String tipo, double delta) {
+        if (chave == null || chave.isEmpty() || delta == 0) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Deque<No> caminho = new ArrayDeque<>(chave.length() + 1);
+            No atual = raiz;
+            caminho.push(atual);
+            for (int i = 0; i < chave.length(); i++) {
+                char c = chave.charAt(i);
+                No proximo = atual.filhos.get(c);
+                if (proximo == null) {
+                    if (delta < 0) {
+                        return;
+                    }
+                    proximo = new No();
+                    atual.filhos.put(c, proximo);
+                }
+                atual = proximo;
+                caminho.push(atual);
+            }
+
+            boolean existia = atual.peso > 0;
+            atual.peso = Math.max(0, atual.peso + delta);
+            if (atual.peso > 0 && !existia) {
+                atual.texto = texto;
+                atual.tipo = tipo;
+                totalTermos++;
+            } else if (atual.peso == 0 && existia) {
+                atual.texto = null;
+                atual.tipo = null;
+                totalTermos--;
+            }
+
+            recalcularCaminho(caminho, chave);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void limpar() {
+        lock.writeLock().lock();
+        try {
+            raiz.filhos.clear();
+            raiz.pesoMaximo = 0;
+            totalTermos = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return totalTermos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Os k termos de maior peso que começam com o prefixo, em ordem decrescente de peso
+    public List<Sugestao> buscar(String prefixo, int k) {
+        List<Sugestao> sugestoes = new ArrayList<>(k);
+        if (prefixo == null || prefixo.isEmpty() || k <= 0) {
+            return sugestoes;
+        }
+
+        lock.readLock().lock();
+        try {
+            No atual = raiz;
+            for (int i = 0; i < prefixo.length() && atual != null; i++) {
+                atual = atual.filhos.get(prefixo.charAt(i));
+            }
+            if (atual == null || atual.pesoMaximo == 0) {
+                return sugestoes;
+            }
+
+            // Busca best-first: um nó só é expandido quando o seu pesoMaximo ainda pode entrar no top-k
+            PriorityQueue<Candidato> fila = new PriorityQueue<>(
+                    (a, b) -> Double.compare(b.prioridade(), a.prioridade()));
+            fila.add(new Candidato(atual, false, atual.pesoMaximo));
+            while (!fila.isEmpty() && sugestoes.size() < k) {
+                Candidato candidato = fila.poll();
+                No no = candidato.no();
+                if (candidato.termo()) {
+                    sugestoes.add(new Sugestao(no.texto, no.tipo, no.peso));
+                    continue;
+                }
+                if (no.peso > 0) {
+                    fila.add(new Candidato(no, true, no.peso));
+                }
+                for (No filho : no.filhos.values()) {
+                    if (filho.pesoMaximo > 0) {
+                        fila.add(new Candidato(filho, false, filho.pesoMaximo));
+                    }
+                }
+            }
+            return sugestoes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Refaz o pesoMaximo do termo até a raiz e poda os nós que ficaram vazios
+    private void recalcularCaminho(Deque<No> caminho, String chave) {
+        int posicao = chave.length();
+        No filho = null;
+        for (No no : caminho) {
+            if (filho != null && filho.pesoMaximo == 0 && filho.filhos.isEmpty()) {
+                no.filhos.remove(chave.charAt(posicao));
+            }
+            double maximo = no.peso;
+            for (No neto : no.filhos.values()) {
+                maximo = Math.max(maximo, neto.pesoMaximo);
+            }
+            no.pesoMaximo = maximo;
+            filho = no;
+            posicao--;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.brunoeugeniodev.marketplace.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+// Base de CEPs em arquivo binário, lida via memory-map (sem carregar tudo no heap). Gerada pela GeradorBaseCep.
+// Layout (big-endian):
+//   cabeçalho: magic "CEP1" | quantidade (int)
+//   registros: quantidade × [cep (int) | logradouro (int) | bairro (int) | cidade (int) | uf (2 bytes ASCII)],
+//              ordenados por cep para busca binária
+//   textos:    [tamanho (u16) | bytes UTF-8], sem repetição; os campos int acima são deslocamentos a partir daqui
+public class BaseCep {
+
+    public record Registro(String cep, String logradouro, String bairro, String cidade, String uf) {
+    }
+
+    // Layout compartilhado com o gerador (ferramentas/GeradorBaseCep)
+    public static final int MAGIC = 0x43455031;
+    public static final int TAMANHO_CABECALHO = 8;
+    public static final int TAMANHO_REGISTRO = 18;
+
+    private final ByteBuffer buffer;
+    private final int quantidade;
+    private final int inicioTextos;
+
+    private BaseCep(ByteBuffer buffer) {
+        if (buffer.limit() < TAMANHO_CABECALHO || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Arquivo não é uma base de CEPs válida");
+        }
+        this.buffer = buffer;
+        this.quantidade = buffer.getInt(4);
+        this.inicioTextos = TAMANHO_CABECALHO + quantidade * TAMANHO_REGISTRO;
+        if (inicioTextos > buffer.limit()) {
+            throw new IllegalArgumentException("Base de CEPs truncada");
+        }
+    }
+
+    public static BaseCep abrir(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            // O mapeamento continua válido depois que o canal é fechado
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            return new BaseCep(mapa);
+        }
+    }
+
+    public int tamanho() {
+        return quantidade;
+    }
+
+    // Só leituras absolutas no buffer, então a busca é segura entre threads
+    public Optional<Registro> buscar(int cep) {
+        int inicio = 0;
+        int fim = quantidade - 1;
+        while (inicio <= fim) {
+            int meio = (inicio + fim) >>> 1;
+            int posicao = TAMANHO_CABECALHO + meio * TAMANHO_REGISTRO;
+            int atual = buffer.getInt(posicao);
+            if (atual < cep) {
+                inicio = meio + 1;
+            } else if (atual > cep) {
+                fim = meio - 1;
+            } else {
+                return Optional.of(ler(posicao));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Registro ler(int posicao) {
+        byte[] uf = new byte[2];
+        buffer.get(posicao + 16, uf);
+        return new Registro(
+                String.format("%08d", buffer.getInt(posicao)),
+                texto(buffer.getInt(posicao + 4)),
+                texto(buffer.getInt(posicao + 8)),
+                texto(buffer.getInt(posicao + 12)),
+                new String(uf, StandardCharsets.US_ASCII));
+    }
+
+    private String texto(int deslocamento) {
+        int posicao = inicioTextos + deslocamento;
+        int tamanho = Short.toUnsignedInt(buffer.getShort(posicao));
+        byte[] bytes = new byte[tamanho];
+        buffer.get(posicao + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
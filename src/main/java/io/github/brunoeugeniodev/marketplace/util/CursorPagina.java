@@ -0,0 +1,92 @@
+package io.github.brunoeugeniodev.marketplace.util;
+
+import io.github.brunoeugeniodev.marketplace.exception.ApiException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+// Cursor opaco de paginação keyset: ordenação + valor da chave de ordenação + id do último item.
+// O cliente só repassa o token; mudar de ordenação com o mesmo cursor é rejeitado.
+public record CursorPagina(String ordem, String valor, Long id) {
+
+    private static final String SEPARADOR = "|";
+
+    public String codificar() {
+        String conteudo = ordem + SEPARADOR + (valor != null ? valor : "") + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Retorna null quando não há cursor (primeira página)
+    public static CursorPagina decodificar(String token, String ordemEsperada) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String conteudo = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // O valor pode conter o separador (ex.: nome de loja), então ordem e id são lidos pelas pontas
+            int inicioValor = conteudo.indexOf(SEPARADOR);
+            int fimValor = conteudo.lastIndexOf(SEPARADOR);
+            if (inicioValor < 0 || inicioValor == fimValor || !conteudo.substring(0, inicioValor).equals(ordemEsperada)) {
+                throw invalido();
+            }
+            String valor = conteudo.substring(inicioValor + 1, fimValor);
+            return new CursorPagina(ordemEsperada, valor.isEmpty() ? null : valor,
+                    Long.valueOf(conteudo.substring(fimValor + 1)));
+        } catch (IllegalArgumentException e) {
+            throw invalido();
+        }
+    }
+
+    public <T> T valorComo(Function<String, T> conversor) {
+        try {
+            return conversor.apply(valor);
+        } catch (RuntimeException e) {
+            throw invalido();
+        }
+    }
+
+    // Cursor de ranking já calculado em memória (o valor é a posição na lista): negativa ou não numérica é cursor
+    // inválido (400); além do fim (o ranking pode ter encolhido entre as páginas) vira o fim, ou seja, página vazia
+    public int posicaoNoRanking(int tamanhoRanking) {
+        int posicao = valorComo(Integer::valueOf);
+        if (posicao < 0) {
+            throw invalido();
+        }
+        return Math.min(posicao, tamanhoRanking);
+    }
+
+    // Posição de scroll do Spring Data a partir do cursor (propriedade null = ordenação só por id)
+    public static ScrollPosition posicao(CursorPagina cursor, String propriedade, Function<String, ?> conversor) {
+        if (cursor == null) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> chaves = new LinkedHashMap<>();
+        if (propriedade != null) {
+            chaves.put(propriedade, cursor.valorComo(conversor));
+        }
+        chaves.put("id", cursor.id());
+        return ScrollPosition.forward(chaves);
+    }
+
+    // Cursor para a página seguinte, ou null quando a janela é a última
+    public static String proximo(Window<?> janela, String ordem, String propriedade) {
+        if (!janela.hasNext() || janela.isEmpty()) {
+            return null;
+        }
+        KeysetScrollPosition posicao = (KeysetScrollPosition) janela.positionAt(janela.size() - 1);
+        Object valor = propriedade != null ? posicao.getKeys().get(propriedade) : null;
+        Long id = ((Number) posicao.getKeys().get("id")).longValue();
+        return new CursorPagina(ordem, valor != null ? valor.toString() : null, id).codificar();
+    }
+
+    private static ApiException invalido() {
+        return new ApiException("Cursor de paginação inválido", HttpStatus.BAD_REQUEST);
+    }
+}
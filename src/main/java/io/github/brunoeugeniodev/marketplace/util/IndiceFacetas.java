@@ -0,0 +1,150 @@
+package io.github.brunoeugeniodev.marketplace.util;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Índice de facetas em memória: para cada dimensão (ex.: categoria) e cada valor,
+// um RoaringBitmap com os ids dos documentos. Filtros e contagens viram AND/OR de bitmaps.
+// Os ids precisam caber em int (limite do RoaringBitmap de 32 bits).
+public class IndiceFacetas {
+
+    public record Resultado(RoaringBitmap correspondentes, Map<String, Map<String, Long>> contagens) {
+    }
+
+    private final RoaringBitmap todos = new RoaringBitmap();
+    // dimensão -> valor -> documentos
+    private final Map<String, Map<String, RoaringBitmap>> dimensoes = new HashMap<>();
+    // documento -> valores indexados (necessário para remover/reindexar)
+    private final Map<Integer, Map<String, String>> documentos = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // valores: dimensão -> valor; dimensões sem valor ficam de fora
+    public void indexar(long id, Map<String, String> valores) {
+        int documento = Math.toIntExact(id);
+        lock.writeLock().lock();
+        try {
+            removerSemLock(documento);
+            Map<String, String> indexados = new HashMap<>();
+            valores.forEach((dimensao, valor) -> {
+                if (valor != null && !valor.isBlank()) {
+                    dimensoes.computeIfAbsent(dimensao, d -> new HashMap<>())
+                            .computeIfAbsent(valor, v -> new RoaringBitmap())
+                            .add(documento);
+                    indexados.put(dimensao, valor);
+                }
+            });
+            todos.add(documento);
+            documentos.put(documento, indexados);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(long id) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(Math.toIntExact(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void limpar() {
+        lock.writeLock().lock();
+        try {
+            todos.clear();
+            dimensoes.clear();
+            documentos.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return todos.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // base: documentos elegíveis (ex.: resultado de uma busca textual); null = todos.
+    // filtros: dimensão -> valores aceitos (OR dentro da dimensão, AND entre dimensões).
+    // A contagem de cada dimensão ignora o filtro da própria dimensão, para mostrar as alternativas.
+    public Resultado consultar(RoaringBitmap base, Map<String, Set<String>> filtros, Collection<String> dimensoesContadas) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap universo = base == null ? todos.clone() : RoaringBitmap.and(base, todos);
+
+            Map<String, RoaringBitmap> filtrosPorDimensao = new HashMap<>();
+            filtros.forEach((dimensao, valores) -> {
+                if (valores != null && !valores.isEmpty()) {
+                    filtrosPorDimensao.put(dimensao, unir(dimensao, valores));
+                }
+            });
+
+            RoaringBitmap correspondentes = universo.clone();
+            filtrosPorDimensao.values().forEach(correspondentes::and);
+
+            Map<String, Map<String, Long>> contagens = new LinkedHashMap<>();
+            for (String dimensao : dimensoesContadas) {
+                RoaringBitmap contexto = universo.clone();
+                filtrosPorDimensao.forEach((outra, filtro) -> {
+                    if (!outra.equals(dimensao)) {
+                        contexto.and(filtro);
+                    }
+                });
+                contagens.put(dimensao, contar(dimensao, contexto));
+            }
+            return new Resultado(correspondentes, contagens);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RoaringBitmap unir(String dimensao, Set<String> valores) {
+        Map<String, RoaringBitmap> porValor = dimensoes.getOrDefault(dimensao, Map.of());
+        List<RoaringBitmap> bitmaps = valores.stream()
+                .map(porValor::get)
+                .filter(bitmap -> bitmap != null)
+                .toList();
+        return bitmaps.isEmpty() ? new RoaringBitmap() : RoaringBitmap.or(bitmaps.iterator());
+    }
+
+    // Contagem por valor dentro do contexto, do valor mais frequente para o menos frequente
+    private Map<String, Long> contar(String dimensao, RoaringBitmap contexto) {
+        Map<String, RoaringBitmap> porValor = dimensoes.getOrDefault(dimensao, Map.of());
+        Map<String, Long> contagens = new LinkedHashMap<>();
+        porValor.entrySet().stream()
+                .map(entrada -> Map.entry(entrada.getKey(), RoaringBitmap.andCardinality(entrada.getValue(), contexto)))
+                .filter(entrada -> entrada.getValue() > 0)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entrada -> contagens.put(entrada.getKey(), entrada.getValue().longValue()));
+        return contagens;
+    }
+
+    private void removerSemLock(int documento) {
+        Map<String, String> anteriores = documentos.remove(documento);
+        if (anteriores == null) {
+            return;
+        }
+        anteriores.forEach((dimensao, valor) -> {
+            Map<String, RoaringBitmap> porValor = dimensoes.get(dimensao);
+            RoaringBitmap bitmap = porValor.get(valor);
+            bitmap.remove(documento);
+            if (bitmap.isEmpty()) {
+                porValor.remove(valor);
+            }
+        });
+        todos.remove(documento);
+    }
+}
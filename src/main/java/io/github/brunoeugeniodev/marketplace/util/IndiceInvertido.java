@@ -0,0 +1,148 @@
+package io.github.brunoeugeniodev.marketplace.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Índice invertido em memória com ranking BM25 e semântica AND entre os termos da consulta.
+// As frequências chegam já ponderadas por campo (ex.: nome pesa mais que descrição).
+public class IndiceInvertido {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // termo -> (id do documento -> frequência ponderada)
+    private final Map<String, Map<Long, Float>> postings = new HashMap<>();
+    // id do documento -> frequências indexadas (necessário para remover/reindexar)
+    private final Map<Long, Map<String, Float>> documentos = new HashMap<>();
+    private final Map<Long, Float> comprimentos = new HashMap<>();
+    private double comprimentoTotal;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void indexar(Long id, Map<String, Float> frequencias) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+            if (frequencias.isEmpty()) {
+                return;
+            }
+
+            float comprimento = 0;
+            for (Map.Entry<String, Float> entrada : frequencias.entrySet()) {
+                postings.computeIfAbsent(entrada.getKey(), termo -> new HashMap<>())
+                        .put(id, entrada.getValue());
+                comprimento += entrada.getValue();
+            }
+            documentos.put(id, Map.copyOf(frequencias));
+            comprimentos.put(id, comprimento);
+            comprimentoTotal += comprimento;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Long id) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void limpar() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentos.clear();
+            comprimentos.clear();
+            comprimentoTotal = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return documentos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Retorna os ids que contêm todos os termos, do mais relevante para o menos relevante
+    public List<Long> buscar(List<String> termos) {
+        if (termos.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Float>> listas = new ArrayList<>(termos.size());
+            for (String termo : termos.stream().distinct().toList()) {
+                Map<Long, Float> lista = postings.get(termo);
+                if (lista == null) {
+                    return List.of();
+                }
+                listas.add(lista);
+            }
+            // Interseção começando pela lista mais curta
+            listas.sort(Comparator.comparingInt(Map::size));
+
+            int totalDocumentos = documentos.size();
+            double comprimentoMedio = comprimentoTotal / Math.max(totalDocumentos, 1);
+            double[] idf = new double[listas.size()];
+            for (int i = 0; i < listas.size(); i++) {
+                int df = listas.get(i).size();
+                idf[i] = Math.log(1 + (totalDocumentos - df + 0.5) / (df + 0.5));
+            }
+
+            Map<Long, Double> pontuacoes = new HashMap<>();
+            candidatos:
+            for (Long id : listas.get(0).keySet()) {
+                double normalizacao = K1 * (1 - B + B * comprimentos.get(id) / comprimentoMedio);
+                double pontuacao = 0;
+                for (int i = 0; i < listas.size(); i++) {
+                    Float tf = listas.get(i).get(id);
+                    if (tf == null) {
+                        continue candidatos;
+                    }
+                    pontuacao += idf[i] * (tf * (K1 + 1)) / (tf + normalizacao);
+                }
+                pontuacoes.put(id, pontuacao);
+            }
+
+            List<Long> ids = new ArrayList<>(pontuacoes.keySet());
+            ids.sort(Comparator.comparing((Long id) -> pontuacoes.get(id)).reversed()
+                    .thenComparing(Comparator.reverseOrder()));
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removerSemLock(Long id) {
+        Map<String, Float> anteriores = documentos.remove(id);
+        if (anteriores == null) {
+            return;
+        }
+        for (String termo : anteriores.keySet()) {
+            Map<Long, Float> lista = postings.get(termo);
+            if (lista != null) {
+                lista.remove(id);
+                if (lista.isEmpty()) {
+                    postings.remove(termo);
+                }
+            }
+        }
+        Float comprimento = comprimentos.remove(id);
+        if (comprimento != null) {
+            comprimentoTotal -= comprimento;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.brunoeugeniodev.marketplace.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Leitura de CSV registro a registro, sem carregar o arquivo: separador configurável, campos entre aspas
+// com "" para aspas e quebras de linha dentro das aspas (descrições). É o formato que a exportação gera.
+public class LeitorCsv {
+
+    private final Reader entrada;
+    private final char separador;
+    private int linhaAtual = 1;
+    private int linhaDoRegistro;
+    private boolean fim;
+
+    public LeitorCsv(Reader entrada, char separador) {
+        // mark/reset para olhar o caractere depois de uma aspa
+        this.entrada = entrada.markSupported() ? entrada : new BufferedReader(entrada);
+        this.separador = separador;
+    }
+
+    // Linha do arquivo em que começou o último registro lido (para relatórios de erro)
+    public int getLinhaDoRegistro() {
+        return linhaDoRegistro;
+    }
+
+    // Próximo registro, ou null no fim do arquivo; linhas em branco são puladas
+    public List<String> proximo() throws IOException {
+        while (!fim) {
+            linhaDoRegistro = linhaAtual;
+            List<String> campos = lerRegistro();
+            if (campos.size() > 1 || !campos.get(0).isEmpty()) {
+                return campos;
+            }
+        }
+        return null;
+    }
+
+    private List<String> lerRegistro() throws IOException {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        int c;
+        while ((c = entrada.read()) != -1) {
+            char atual = (char) c;
+            if (entreAspas) {
+                if (atual == '"') {
+                    entrada.mark(1);
+                    int seguinte = entrada.read();
+                    if (seguinte == '"') {
+                        campo.append('"');
+                    } else {
+                        entreAspas = false;
+                        if (seguinte != -1) {
+                            entrada.reset();
+                        }
+                    }
+                } else {
+                    if (atual == '\n') {
+                        linhaAtual++;
+                    }
+                    campo.append(atual);
+                }
+            } else if (atual == '"' && campo.isEmpty()) {
+                entreAspas = true;
+            } else if (atual == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (atual == '\n') {
+                linhaAtual++;
+                campos.add(campo.toString());
+                return campos;
+            } else if (atual != '\r') {
+                campo.append(atual);
+            }
+        }
+        fim = true;
+        campos.add(campo.toString());
+        return campos;
+    }
+}
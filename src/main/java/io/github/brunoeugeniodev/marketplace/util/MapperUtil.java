@@ -6,9 +6,12 @@ import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
+// Entidade -> DTO é escrito à mão (sem reflexão por objeto) e tem a mesma saída do ModelMapper
+// em modo STRICT com skipNull, conferida pelo MapperUtilTest. DTO -> entidade continua no ModelMapper.
 @Component
 @RequiredArgsConstructor
 public class MapperUtil {
@@ -17,7 +20,16 @@ public class MapperUtil {
 
     // Usuario
     public UsuarioDTO toUsuarioDTO(Usuario usuario) {
-        UsuarioDTO dto = modelMapper.map(usuario, UsuarioDTO.class);
+        UsuarioDTO dto = new UsuarioDTO();
+        dto.setId(usuario.getId());
+        dto.setNome(usuario.getNome());
+        dto.setEmail(usuario.getEmail());
+        dto.setCpf(usuario.getCpf());
+        // Cópia, como o ModelMapper fazia: o DTO não fica preso à coleção do Hibernate
+        dto.setRoles(usuario.getRoles() != null ? new ArrayList<>(usuario.getRoles()) : null);
+        dto.setAtivo(usuario.getAtivo());
+        dto.setDataCriacao(usuario.getDataCriacao());
+        dto.setDataAtualizacao(usuario.getDataAtualizacao());
         return dto;
     }
 
@@ -34,13 +46,40 @@ public class MapperUtil {
 
     // Produto
     public ProdutoDTO toProdutoDTO(Produto produto) {
-        ProdutoDTO dto = modelMapper.map(produto, ProdutoDTO.class);
-        dto.setLojaId(produto.getLoja() != null ? produto.getLoja().getId() : null);
-        dto.setLojaNome(produto.getLoja() != null ? produto.getLoja().getNome() : null);
-        dto.setLojaCnpj(produto.getLoja() != null ? produto.getLoja().getCnpj() : null);
+        ProdutoDTO dto = new ProdutoDTO();
+        dto.setId(produto.getId());
+        dto.setNome(produto.getNome());
+        dto.setDescricao(produto.getDescricao());
+        dto.setPreco(produto.getPreco());
+        dto.setQuantidade(produto.getQuantidade());
+        dto.setFotoUrl(produto.getFotoUrl());
+        dto.setCategoria(produto.getCategoria());
+        dto.setMarca(produto.getMarca());
+        dto.setModelo(produto.getModelo());
+        dto.setDestaque(produto.getDestaque());
+        dto.setAtivo(produto.getAtivo());
+        dto.setDisponivel(produto.isDisponivel());
+        dto.setAvaliacaoMedia(produto.getAvaliacaoMedia());
+        dto.setTotalVendas(produto.getTotalVendas());
+        dto.setDataCriacao(produto.getDataCriacao());
+        dto.setDataAtualizacao(produto.getDataAtualizacao());
+        if (produto.getLoja() != null) {
+            dto.setLojaId(produto.getLoja().getId());
+            dto.setLojaNome(produto.getLoja().getNome());
+            dto.setLojaCnpj(produto.getLoja().getCnpj());
+        }
         return dto;
     }
 
+    // Mesmo conteúdo de toProdutoDTO para cada item (inclui os dados da loja)
+    public List<ProdutoDTO> toProdutoDTOList(List<Produto> produtos) {
+        List<ProdutoDTO> dtos = new ArrayList<>(produtos.size());
+        for (Produto produto : produtos) {
+            dtos.add(toProdutoDTO(produto));
+        }
+        return dtos;
+    }
+
     public Produto toProdutoEntity(ProdutoDTO dto) {
         return modelMapper.map(dto, Produto.class);
     }
@@ -55,19 +94,43 @@ public class MapperUtil {
 
     // Loja
     public LojaDTO toLojaDTO(Loja loja) {
-        LojaDTO dto = modelMapper.map(loja, LojaDTO.class);
+        LojaDTO dto = toLojaDTOSemProprietario(loja);
         if (loja.getUsuario() != null) {
             dto.setProprietarioId(loja.getUsuario().getId());
             dto.setProprietarioNome(loja.getUsuario().getNome());
         }
-        dto.setQuantidadeProdutos(loja.getProdutos() != null ? loja.getProdutos().size() : 0);
+        return dto;
+    }
 
-        // Converter EnderecoLoja para EnderecoLojaDTO
-        if (loja.getEndereco() != null) {
-            EnderecoLojaDTO enderecoDTO = toEnderecoLojaDTO(loja.getEndereco());
-            dto.setEndereco(enderecoDTO);
+    // Listagens públicas: mesma saída do antigo mapList(lojas, LojaDTO.class), sem dados do proprietário
+    public List<LojaDTO> toLojaDTOList(List<Loja> lojas) {
+        List<LojaDTO> dtos = new ArrayList<>(lojas.size());
+        for (Loja loja : lojas) {
+            dtos.add(toLojaDTOSemProprietario(loja));
         }
+        return dtos;
+    }
 
+    private LojaDTO toLojaDTOSemProprietario(Loja loja) {
+        LojaDTO dto = new LojaDTO();
+        dto.setId(loja.getId());
+        dto.setNome(loja.getNome());
+        dto.setCnpj(loja.getCnpj());
+        dto.setDescricao(loja.getDescricao());
+        dto.setFotoUrl(loja.getFotoUrl());
+        dto.setTelefone(loja.getTelefone());
+        dto.setEmail(loja.getEmail());
+        dto.setSite(loja.getSite());
+        dto.setAtivo(loja.getAtivo());
+        dto.setAvaliacaoMedia(loja.getAvaliacaoMedia());
+        dto.setTotalAvaliacoes(loja.getTotalAvaliacoes());
+        dto.setQuantidadeProdutos(loja.getQuantidadeProdutos());
+        dto.setLocalizacao(loja.getLocalizacao());
+        dto.setDataCriacao(loja.getDataCriacao());
+        dto.setDataAtualizacao(loja.getDataAtualizacao());
+        if (loja.getEndereco() != null) {
+            dto.setEndereco(toEnderecoLojaDTO(loja.getEndereco()));
+        }
         return dto;
     }
 
@@ -96,7 +159,15 @@ public class MapperUtil {
 
     // EnderecoLoja (classe interna da Loja)
     public EnderecoLojaDTO toEnderecoLojaDTO(Loja.EnderecoLoja enderecoLoja) {
-        return modelMapper.map(enderecoLoja, EnderecoLojaDTO.class);
+        EnderecoLojaDTO dto = new EnderecoLojaDTO();
+        dto.setRua(enderecoLoja.getRua());
+        dto.setNumero(enderecoLoja.getNumero());
+        dto.setBairro(enderecoLoja.getBairro());
+        dto.setCidade(enderecoLoja.getCidade());
+        dto.setEstado(enderecoLoja.getEstado());
+        dto.setCep(enderecoLoja.getCep());
+        dto.setComplemento(enderecoLoja.getComplemento());
+        return dto;
     }
 
     public Loja.EnderecoLoja toEnderecoLojaEntity(EnderecoLojaDTO dto) {
@@ -113,8 +184,17 @@ public class MapperUtil {
 
     // Endereco (do Usuario)
     public EnderecoDTO toEnderecoDTO(Endereco endereco) {
-        EnderecoDTO dto = modelMapper.map(endereco, EnderecoDTO.class);
+        EnderecoDTO dto = new EnderecoDTO();
+        dto.setId(endereco.getId());
         dto.setUsuarioId(endereco.getUsuario() != null ? endereco.getUsuario().getId() : null);
+        dto.setRua(endereco.getRua());
+        dto.setNumero(endereco.getNumero());
+        dto.setBairro(endereco.getBairro());
+        dto.setCidade(endereco.getCidade());
+        dto.setEstado(endereco.getEstado());
+        dto.setCep(endereco.getCep());
+        dto.setComplemento(endereco.getComplemento());
+        dto.setEnderecoPrincipal(endereco.getEnderecoPrincipal());
         return dto;
     }
 
@@ -132,18 +212,22 @@ public class MapperUtil {
 
     // Carrinho
     public CarrinhoDTO mapCarrinhoToDTO(Carrinho carrinho) {
-        CarrinhoDTO dto = modelMapper.map(carrinho, CarrinhoDTO.class);
+        CarrinhoDTO dto = new CarrinhoDTO();
+        dto.setId(carrinho.getId());
+        dto.setDataCriacao(carrinho.getDataCriacao());
+        dto.setDataAtualizacao(carrinho.getDataAtualizacao());
         if (carrinho.getUsuario() != null) {
             dto.setUsuarioId(carrinho.getUsuario().getId());
             dto.setUsuarioNome(carrinho.getUsuario().getNome());
             dto.setUsuarioEmail(carrinho.getUsuario().getEmail());
         }
 
-        // Converter itens
-        if (carrinho.getItens() != null && !carrinho.getItens().isEmpty()) {
-            List<ItemCarrinhoDTO> itensDTO = carrinho.getItens().stream()
-                    .map(this::mapItemCarrinhoToDTO)
-                    .collect(Collectors.toList());
+        // Carrinho vazio vira lista vazia (não null), como no ModelMapper
+        if (carrinho.getItens() != null) {
+            List<ItemCarrinhoDTO> itensDTO = new ArrayList<>(carrinho.getItens().size());
+            for (ItemCarrinho item : carrinho.getItens()) {
+                itensDTO.add(mapItemCarrinhoToDTO(item));
+            }
             dto.setItens(itensDTO);
         }
 
@@ -151,7 +235,12 @@ public class MapperUtil {
     }
 
     public ItemCarrinhoDTO mapItemCarrinhoToDTO(ItemCarrinho item) {
-        ItemCarrinhoDTO dto = modelMapper.map(item, ItemCarrinhoDTO.class);
+        ItemCarrinhoDTO dto = new ItemCarrinhoDTO();
+        dto.setId(item.getId());
+        dto.setQuantidade(item.getQuantidade());
+        dto.setPrecoUnitario(item.getPrecoUnitario());
+        dto.setDataAdicao(item.getDataAdicao());
+        dto.setDataAtualizacao(item.getDataAtualizacao());
         if (item.getProduto() != null) {
             dto.setProdutoId(item.getProduto().getId());
             dto.setProdutoNome(item.getProduto().getNome());
@@ -183,7 +272,7 @@ public class MapperUtil {
         // Mapeamentos personalizados podem ser adicionados aqui
     }
 
-    // Listas
+    // Listas genéricas via ModelMapper; para entidades use toProdutoDTOList/toLojaDTOList
     public <S, T> List<T> mapList(List<S> source, Class<T> targetClass) {
         return source.stream()
                 .map(element -> modelMapper.map(element, targetClass))
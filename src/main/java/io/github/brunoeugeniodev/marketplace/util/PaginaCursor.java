@@ -0,0 +1,13 @@
+package io.github.brunoeugeniodev.marketplace.util;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Uma página de resultados paginados por cursor; proximoCursor é null na última página.
+// totalEstimado pode vir do planner do PostgreSQL em vez de um COUNT(*) completo.
+public record PaginaCursor<T>(List<T> itens, String proximoCursor, long totalEstimado) {
+
+    public <R> PaginaCursor<R> map(Function<T, R> conversor) {
+        return new PaginaCursor<>(itens.stream().map(conversor).toList(), proximoCursor, totalEstimado);
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.brunoeugeniodev.marketplace.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// GET condicional (If-None-Match) com ETag forte calculado a partir das versões do que a resposta mostra
+// (ids, dataAtualizacao, contadores). Quando o cliente já tem a versão atual, responde 304 sem montar o DTO.
+public final class RespostaCondicional {
+
+    // Sempre revalidar: o cliente/CDN guarda a resposta, mas pergunta antes de reutilizar
+    public static final CacheControl PUBLICA = CacheControl.noCache().cachePublic();
+    public static final CacheControl PRIVADA = CacheControl.noCache().cachePrivate();
+
+    private RespostaCondicional() {
+    }
+
+    // As partes são concatenadas na ordem recebida; null entra como "null"
+    public static String etag(Object... partes) {
+        String conteudo = Arrays.stream(partes).map(Objects::toString).collect(Collectors.joining("|"));
+        return "\"" + DigestUtils.md5DigestAsHex(conteudo.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // O Cache-Control vai também no 304; sem ele o Spring Security devolveria no-store
+    public static <T> ResponseEntity<T> responder(WebRequest request, String etag, CacheControl cache,
+                                                  Supplier<T> corpo) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cache).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cache).body(corpo.get());
+    }
+}
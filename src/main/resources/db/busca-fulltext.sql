@@ -0,0 +1,19 @@
+-- Busca full-text (busca.modo=fulltext): vetores gerados pelo próprio PostgreSQL e indexados com GIN.
+-- Pesos: nome (A) > marca/categoria (B) > descrição (C). Script idempotente, executado na inicialização.
+
+ALTER TABLE produtos ADD COLUMN IF NOT EXISTS busca_vetor tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('portuguese', coalesce(nome, '')), 'A') ||
+        setweight(to_tsvector('portuguese', coalesce(marca, '') || ' ' || coalesce(categoria, '')), 'B') ||
+        setweight(to_tsvector('portuguese', coalesce(descricao, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_produto_busca_vetor ON produtos USING GIN (busca_vetor);
+
+ALTER TABLE lojas ADD COLUMN IF NOT EXISTS busca_vetor tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('portuguese', coalesce(nome, '')), 'A') ||
+        setweight(to_tsvector('portuguese', coalesce(descricao, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_loja_busca_vetor ON lojas USING GIN (busca_vetor);
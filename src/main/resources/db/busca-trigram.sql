@@ -0,0 +1,7 @@
+-- Busca tolerante a erros de digitação (busca.fuzzy.habilitado=true): similaridade por trigramas.
+-- Os índices cobrem lower(nome), que é a expressão usada nas consultas de similaridade.
+-- Só roda quando a extensão pg_trgm já está instalada (db/extensao-trigram.sql).
+
+CREATE INDEX IF NOT EXISTS idx_produto_nome_trgm ON produtos USING GIN (lower(nome) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_loja_nome_trgm ON lojas USING GIN (lower(nome) gin_trgm_ops);
@@ -0,0 +1,26 @@
+-- Paginação keyset do catálogo e do diretório de lojas: as chaves de ordenação não podem ser nulas, senão as linhas
+-- com NULL ficam fora das comparações (preco > ?) e somem das páginas seguintes.
+-- O ddl-auto não altera colunas existentes, então os bancos antigos são corrigidos aqui.
+
+UPDATE produtos SET total_vendas = 0 WHERE total_vendas IS NULL;
+
+UPDATE produtos SET avaliacao_media = 0 WHERE avaliacao_media IS NULL;
+
+UPDATE produtos SET data_criacao = COALESCE(data_atualizacao, now()) WHERE data_criacao IS NULL;
+
+UPDATE lojas SET total_avaliacoes = 0 WHERE total_avaliacoes IS NULL;
+
+UPDATE lojas SET avaliacao_media = 0 WHERE avaliacao_media IS NULL;
+
+UPDATE lojas SET data_criacao = COALESCE(data_atualizacao, now()) WHERE data_criacao IS NULL;
+
+-- Filtro de localização do diretório (estado exato, cidade sem diferenciar maiúsculas)
+CREATE INDEX IF NOT EXISTS idx_loja_localizacao ON lojas (loja_estado, lower(loja_cidade));
+
+-- Contador de produtos ativos por loja (mantido pelo ProdutoService); recalculado aqui para
+-- preencher bancos antigos e corrigir qualquer divergência. Só regrava as lojas que mudaram.
+UPDATE lojas l SET quantidade_produtos_ativos = c.total
+FROM (SELECT lj.id, count(p.id) AS total
+      FROM lojas lj LEFT JOIN produtos p ON p.loja_id = lj.id AND p.ativo = true
+      GROUP BY lj.id) c
+WHERE c.id = l.id AND l.quantidade_produtos_ativos IS DISTINCT FROM c.total;
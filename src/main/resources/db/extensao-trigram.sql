@@ -0,0 +1,5 @@
+-- Extensão da busca por similaridade (busca.fuzzy.habilitado=true). Exige privilégio de CREATE no banco
+-- (superusuário antes do PostgreSQL 13): rodar uma vez como DBA. A aplicação só executa este script
+-- quando busca.fuzzy.criar-extensao=true; sem a extensão, a busca por similaridade fica desligada.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
@@ -0,0 +1,67 @@
+-- Ids gerados por sequência (allocationSize = 50, otimizador pooled-lo) em vez de IDENTITY, para o Hibernate
+-- poder agrupar os INSERTs em batch. Migração dos bancos criados com IDENTITY: a coluna perde o default
+-- de identidade (os ids passam a vir sempre da aplicação) e a sequência é adiantada para depois do maior id.
+-- Com pooled-lo, um valor v devolvido pela sequência reserva os ids v a v + incremento - 1 para uma instância,
+-- então o último id reservado é last_value + incremento - 1 (ou last_value - 1 se a sequência ainda não foi usada).
+-- Só realinha quando max(id) passou desse ponto, o que acontece depois da migração de IDENTITY; um id dentro do
+-- bloco reservado é de uma instância rodando, e voltar a sequência para ele entregaria o bloco duas vezes.
+
+ALTER TABLE usuarios ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS usuarios_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('usuarios_seq', m + 1, false)
+FROM (SELECT COALESCE(max(id), 0) AS m FROM usuarios) t,
+     (SELECT CASE WHEN is_called
+                  THEN last_value + (SELECT seqincrement FROM pg_sequence WHERE seqrelid = 'usuarios_seq'::regclass) - 1
+                  ELSE last_value - 1 END AS reservado
+      FROM usuarios_seq) s
+WHERE m > s.reservado;
+
+ALTER TABLE enderecos ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS enderecos_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('enderecos_seq', m + 1, false)
+FROM (SELECT COALESCE(max(id), 0) AS m FROM enderecos) t,
+     (SELECT CASE WHEN is_called
+                  THEN last_value + (SELECT seqincrement FROM pg_sequence WHERE seqrelid = 'enderecos_seq'::regclass) - 1
+                  ELSE last_value - 1 END AS reservado
+      FROM enderecos_seq) s
+WHERE m > s.reservado;
+
+ALTER TABLE lojas ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS lojas_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('lojas_seq', m + 1, false)
+FROM (SELECT COALESCE(max(id), 0) AS m FROM lojas) t,
+     (SELECT CASE WHEN is_called
+                  THEN last_value + (SELECT seqincrement FROM pg_sequence WHERE seqrelid = 'lojas_seq'::regclass) - 1
+                  ELSE last_value - 1 END AS reservado
+      FROM lojas_seq) s
+WHERE m > s.reservado;
+
+ALTER TABLE produtos ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS produtos_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('produtos_seq', m + 1, false)
+FROM (SELECT COALESCE(max(id), 0) AS m FROM produtos) t,
+     (SELECT CASE WHEN is_called
+                  THEN last_value + (SELECT seqincrement FROM pg_sequence WHERE seqrelid = 'produtos_seq'::regclass) - 1
+                  ELSE last_value - 1 END AS reservado
+      FROM produtos_seq) s
+WHERE m > s.reservado;
+
+ALTER TABLE carrinhos ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS carrinhos_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('carrinhos_seq', m + 1, false)
+FROM (SELECT COALESCE(max(id), 0) AS m FROM carrinhos) t,
+     (SELECT CASE WHEN is_called
+                  THEN last_value + (SELECT seqincrement FROM pg_sequence WHERE seqrelid = 'carrinhos_seq'::regclass) - 1
+                  ELSE last_value - 1 END AS reservado
+      FROM carrinhos_seq) s
+WHERE m > s.reservado;
+
+ALTER TABLE itens_carrinho ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS itens_carrinho_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('itens_carrinho_seq', m + 1, false)
+FROM (SELECT COALESCE(max(id), 0) AS m FROM itens_carrinho) t,
+     (SELECT CASE WHEN is_called
+                  THEN last_value + (SELECT seqincrement FROM pg_sequence WHERE seqrelid = 'itens_carrinho_seq'::regclass) - 1
+                  ELSE last_value - 1 END AS reservado
+      FROM itens_carrinho_seq) s
+WHERE m > s.reservado;
@@ -202,19 +202,24 @@ window.aplicarMascaraCEP = function(cepInput) {
 window.buscarEnderecoPorCEP = function(cep) {
     const cepLimpo = cep.replace(/\D/g, '');
     if (cepLimpo.length === 8) {
-        fetch(`https://viacep.com.br/ws/${cepLimpo}/json/`)
-            .then(response => response.json())
+        // Consulta a base de CEPs do próprio servidor; sem a base instalada (503), cai para o viacep
+        fetch(`/api/cep/${cepLimpo}`)
+            .then(response => {
+                if (response.ok) return response.json();
+                if (response.status === 503) return buscarCEPNoViaCep(cepLimpo);
+                return null;
+            })
             .then(data => {
-                if (!data.erro) {
+                if (data) {
                     const logradouroInput = document.getElementById('logradouro');
                     const bairroInput = document.getElementById('bairro');
                     const cidadeInput = document.getElementById('cidade');
                     const estadoInput = document.getElementById('estado');
 
-                    if (logradouroInput) logradouroInput.value = data.logradouro;
-                    if (bairroInput) bairroInput.value = data.bairro;
-                    if (cidadeInput) cidadeInput.value = data.localidade;
-                    if (estadoInput) estadoInput.value = data.uf;
+                    if (logradouroInput && data.logradouro) logradouroInput.value = data.logradouro;
+                    if (bairroInput && data.bairro) bairroInput.value = data.bairro;
+                    if (cidadeInput) cidadeInput.value = data.cidade;
+                    if (estadoInput) estadoInput.value = data.estado;
 
                     if (window.showNotification) {
                         window.showNotification('Endereço preenchido automaticamente!', 'success');
@@ -227,6 +232,15 @@ window.buscarEnderecoPorCEP = function(cep) {
     }
 };
 
+// Mesmo formato de /api/cep (cidade/estado) a partir da resposta do viacep (localidade/uf)
+function buscarCEPNoViaCep(cepLimpo) {
+    return fetch(`https://viacep.com.br/ws/${cepLimpo}/json/`)
+        .then(response => response.ok ? response.json() : null)
+        .then(data => data && !data.erro
+            ? { logradouro: data.logradouro, bairro: data.bairro, cidade: data.localidade, estado: data.uf }
+            : null);
+}
+
 // ========== AJAX HELPER ==========
 window.ajaxRequest = function(url, method = 'GET', data = null) {
     return new Promise((resolve, reject) => {
@@ -298,6 +312,42 @@ document.addEventListener('DOMContentLoaded', function() {
         }
     }
 
+    // ========== AUTOCOMPLETE DA BUSCA ==========
+    const campoBusca = document.getElementById('search-input') || searchInput;
+    if (campoBusca) {
+        const listaSugestoes = document.createElement('datalist');
+        listaSugestoes.id = 'search-sugestoes';
+        campoBusca.after(listaSugestoes);
+        campoBusca.setAttribute('list', listaSugestoes.id);
+        campoBusca.setAttribute('autocomplete', 'off');
+
+        let temporizador = null;
+        let ultimoPrefixo = '';
+
+        campoBusca.addEventListener('input', function() {
+            const prefixo = campoBusca.value.trim();
+            clearTimeout(temporizador);
+            if (prefixo.length < 2 || prefixo === ultimoPrefixo) {
+                return;
+            }
+            // Espera o usuário parar de digitar antes de consultar
+            temporizador = setTimeout(() => {
+                ultimoPrefixo = prefixo;
+                fetch(`/api/busca/sugestoes?prefixo=${encodeURIComponent(prefixo)}`)
+                    .then(response => response.ok ? response.json() : [])
+                    .then(sugestoes => {
+                        listaSugestoes.innerHTML = '';
+                        sugestoes.forEach(sugestao => {
+                            const opcao = document.createElement('option');
+                            opcao.value = sugestao.texto;
+                            listaSugestoes.appendChild(opcao);
+                        });
+                    })
+                    .catch(error => console.log('Não foi possível carregar sugestões:', error));
+            }, 150);
+        });
+    }
+
     // ========== INICIALIZAÇÃO DAS MÁSCARAS ==========
     const cpfInput = document.getElementById('cpf');
     if (cpfInput) aplicarMascaraCPF(cpfInput);
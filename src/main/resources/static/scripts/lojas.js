@@ -3,45 +3,7 @@
 document.addEventListener('DOMContentLoaded', function() {
     console.log('Lojas page - Script carregado');
 
-    // ========== FILTROS ==========
-    const btnFiltrar = document.getElementById('btn-filtrar');
-    if (btnFiltrar) {
-        btnFiltrar.addEventListener('click', function() {
-            aplicarFiltros();
-        });
-    }
-
-    function aplicarFiltros() {
-        const categoria = document.getElementById('categoria').value;
-        const localizacao = document.getElementById('localizacao').value.trim();
-        const ordenacao = document.getElementById('ordenacao').value;
-
-        // Simula filtragem (em produção, faria uma requisição AJAX)
-        showNotification('Filtros aplicados!', 'success');
-
-        // TODO: Implementar lógica real de filtragem
-        console.log('Filtros:', { categoria, localizacao, ordenacao });
-    }
-
-    // ========== PAGINAÇÃO ==========
-    const paginationLinks = document.querySelectorAll('.pagination a');
-    paginationLinks.forEach(link => {
-        link.addEventListener('click', function(e) {
-            e.preventDefault();
-
-            // Remove active de todos os links
-            paginationLinks.forEach(l => l.classList.remove('active'));
-
-            // Adiciona active ao link clicado
-            this.classList.add('active');
-
-            // Simula carregamento de página (em produção, faria AJAX)
-            showNotification('Carregando página...', 'info');
-
-            // TODO: Implementar carregamento real da página
-            console.log('Navegando para página:', this.textContent);
-        });
-    });
+    // Filtros e paginação são feitos no servidor: o formulário e os links de página recarregam /lojas
 
     // ========== VISITAR LOJA ==========
     const linksVisitarLoja = document.querySelectorAll('.btn-visitar');
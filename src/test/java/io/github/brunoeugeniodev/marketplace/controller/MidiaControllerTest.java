@@ -0,0 +1,114 @@
+package io.github.brunoeugeniodev.marketplace.controller;
+
+import io.github.brunoeugeniodev.marketplace.service.ArmazenamentoImagens;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class MidiaControllerTest {
+
+    @TempDir
+    Path diretorio;
+
+    // Miniaturas agendadas pelo ArmazenamentoImagens; só rodam quando o teste manda
+    private final List<Runnable> pendentes = new ArrayList<>();
+
+    private MidiaController controller;
+    private byte[] png;
+    private String hash;
+
+    @BeforeEach
+    void enviarImagem() throws IOException {
+        ExecutorService executor = mock(ExecutorService.class);
+        doAnswer(invocacao -> pendentes.add(invocacao.getArgument(0))).when(executor).execute(any());
+        ArmazenamentoImagens armazenamento = new ArmazenamentoImagens(diretorio.toString(), List.of(160), 1_000_000, 0.8f, executor);
+        controller = new MidiaController(armazenamento);
+
+        png = png(400, 200);
+        String url = armazenamento.salvar(new MockMultipartFile("arquivo", png));
+        hash = url.substring(url.lastIndexOf('/') + 1, url.lastIndexOf('.'));
+    }
+
+    @Test
+    void originalEImutavel() throws IOException {
+        MockHttpServletResponse resposta = servir("original", hash + ".png", null);
+
+        assertThat(resposta.getStatus()).isEqualTo(200);
+        assertThat(resposta.getContentType()).isEqualTo("image/png");
+        assertThat(resposta.getContentAsByteArray()).isEqualTo(png);
+        assertThat(resposta.getHeader(HttpHeaders.CACHE_CONTROL)).contains("immutable");
+        assertThat(resposta.getHeader(HttpHeaders.ETAG)).isEqualTo("\"original-" + hash + ".png\"");
+    }
+
+    @Test
+    void miniaturaPendenteServeOOriginalComCacheCurto() throws IOException {
+        MockHttpServletResponse provisoria = servir("160", hash + ".jpg", null);
+
+        assertThat(provisoria.getStatus()).isEqualTo(200);
+        assertThat(provisoria.getContentType()).isEqualTo("image/png");
+        assertThat(provisoria.getContentAsByteArray()).isEqualTo(png);
+        assertThat(provisoria.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("max-age=60, public");
+        String etagProvisorio = provisoria.getHeader(HttpHeaders.ETAG);
+        assertThat(etagProvisorio).isEqualTo("\"original-" + hash + ".png\"");
+
+        // Ainda pendente: a revalidação dá 304
+        assertThat(servir("160", hash + ".jpg", etagProvisorio).getStatus()).isEqualTo(304);
+
+        pendentes.forEach(Runnable::run);
+
+        // Pronta: o ETag muda, então a mesma revalidação recebe a miniatura
+        MockHttpServletResponse pronta = servir("160", hash + ".jpg", etagProvisorio);
+        assertThat(pronta.getStatus()).isEqualTo(200);
+        assertThat(pronta.getContentType()).isEqualTo("image/jpeg");
+        assertThat(ImageIO.read(new ByteArrayInputStream(pronta.getContentAsByteArray())).getWidth()).isEqualTo(160);
+        assertThat(pronta.getHeader(HttpHeaders.CACHE_CONTROL)).contains("immutable");
+        assertThat(pronta.getHeader(HttpHeaders.ETAG)).isEqualTo("\"160-" + hash + ".jpg\"");
+    }
+
+    @Test
+    void nomeOuVarianteInvalidosDao404() throws IOException {
+        assertThat(servir("original", "../../application.properties", null).getStatus()).isEqualTo(404);
+        assertThat(servir("999", hash + ".jpg", null).getStatus()).isEqualTo(404);
+        assertThat(servir("160", hash + ".png", null).getStatus()).isEqualTo(404);
+        // Nome válido, mas nenhuma imagem com esse hash
+        assertThat(servir("160", "f".repeat(64) + ".jpg", null).getStatus()).isEqualTo(404);
+        assertThat(servir("original", "f".repeat(64) + ".png", null).getStatus()).isEqualTo(404);
+    }
+
+    private MockHttpServletResponse servir(String variante, String arquivo, String etag) throws IOException {
+        MockHttpServletRequest requisicao = new MockHttpServletRequest("GET", "/midia/" + variante + "/" + arquivo);
+        if (etag != null) {
+            requisicao.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        }
+        MockHttpServletResponse resposta = new MockHttpServletResponse();
+        controller.servir(variante, arquivo, requisicao, resposta);
+        return resposta;
+    }
+
+    private static byte[] png(int largura, int altura) throws IOException {
+        BufferedImage imagem = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+        imagem.setRGB(0, 0, 0xFF0000);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        ImageIO.write(imagem, "png", saida);
+        return saida.toByteArray();
+    }
+}
@@ -0,0 +1,143 @@
+package io.github.brunoeugeniodev.marketplace.service;
+
+import jakarta.validation.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class ArmazenamentoImagensTest {
+
+    private static final String HASH = "ab" + "0".repeat(62);
+
+    @TempDir
+    Path diretorio;
+
+    private ArmazenamentoImagens armazenamento;
+
+    @BeforeEach
+    void criar() throws IOException {
+        armazenamento = new ArmazenamentoImagens(diretorio.toString(), List.of(320, 160, 640), 1_000_000, 0.8f, executorDireto());
+    }
+
+    @Test
+    void formatoVemDoConteudoENaoDoNome() throws IOException {
+        String url = armazenamento.salvar(new MockMultipartFile("arquivo", "foto.jpg", "image/jpeg", png(400, 200)));
+
+        assertThat(url).matches("/midia/original/[0-9a-f]{64}\\.png");
+        assertThat(original(url)).exists();
+        // Mesmo conteúdo, mesma URL
+        assertThat(armazenamento.salvar(new MockMultipartFile("arquivo", "outra.png", "image/png", png(400, 200))))
+                .isEqualTo(url);
+    }
+
+    @Test
+    void recusaArquivoQueNaoEImagem() throws IOException {
+        MockMultipartFile texto = new MockMultipartFile("arquivo", "foto.png", "image/png",
+                "<script>alert(1)</script>".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> armazenamento.salvar(texto)).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> armazenamento.salvar(new MockMultipartFile("arquivo", new byte[0])))
+                .isInstanceOf(ValidationException.class);
+        assertThat(arquivos()).isEmpty();
+    }
+
+    @Test
+    void recusaImagemAcimaDoLimiteDePixels() throws IOException {
+        ArmazenamentoImagens limitado = new ArmazenamentoImagens(diretorio.toString(), List.of(160), 100, 0.8f, executorDireto());
+
+        assertThatThrownBy(() -> limitado.salvar(new MockMultipartFile("arquivo", png(20, 20))))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Imagem muito grande");
+        assertThat(limitado.salvar(new MockMultipartFile("arquivo", png(10, 10)))).isNotNull();
+    }
+
+    @Test
+    void geraMiniaturasSemAmpliar() throws IOException {
+        String url = armazenamento.salvar(new MockMultipartFile("arquivo", png(400, 200)));
+        String hash = url.substring(url.lastIndexOf('/') + 1, url.lastIndexOf('.'));
+
+        BufferedImage pequena = ImageIO.read(armazenamento.localizar("160", hash + ".jpg").toFile());
+        assertThat(pequena.getWidth()).isEqualTo(160);
+        assertThat(pequena.getHeight()).isEqualTo(80);
+        // 640 é maior que o original: fica com a largura original
+        assertThat(ImageIO.read(armazenamento.localizar("640", hash + ".jpg").toFile()).getWidth()).isEqualTo(400);
+    }
+
+    @Test
+    void localizarSoAceitaNomesEVariantesConhecidos() {
+        assertThat(armazenamento.localizar("original", HASH + ".png"))
+                .isEqualTo(diretorio.resolve("original/ab/" + HASH + ".png"));
+        assertThat(armazenamento.localizar("320", HASH + ".jpg"))
+                .isEqualTo(diretorio.resolve("320/ab/" + HASH + ".jpg"));
+
+        assertThat(armazenamento.localizar("original", "../../etc/passwd")).isNull();
+        assertThat(armazenamento.localizar("original", "../" + HASH + ".png")).isNull();
+        assertThat(armazenamento.localizar("original", HASH.toUpperCase() + ".png")).isNull();
+        assertThat(armazenamento.localizar("original", HASH + ".svg")).isNull();
+        assertThat(armazenamento.localizar("..", HASH + ".jpg")).isNull();
+        assertThat(armazenamento.localizar("tmp", HASH + ".jpg")).isNull();
+        assertThat(armazenamento.localizar("999", HASH + ".jpg")).isNull();
+        // Miniaturas são sempre JPEG
+        assertThat(armazenamento.localizar("320", HASH + ".png")).isNull();
+    }
+
+    @Test
+    void miniaturaReescreveSoUrlsLocais() {
+        String original = "/midia/original/" + HASH + ".png";
+
+        assertThat(armazenamento.miniatura(original, 200)).isEqualTo("/midia/320/" + HASH + ".jpg");
+        assertThat(armazenamento.miniatura(original, 160)).isEqualTo("/midia/160/" + HASH + ".jpg");
+        // Maior que todas as variantes: o original
+        assertThat(armazenamento.miniatura(original, 1000)).isEqualTo(original);
+        assertThat(armazenamento.miniatura("https://cdn.exemplo.com/foto.png", 160)).isEqualTo("https://cdn.exemplo.com/foto.png");
+        assertThat(armazenamento.miniatura("/midia/original/../" + HASH + ".png", 160)).isEqualTo("/midia/original/../" + HASH + ".png");
+        assertThat(armazenamento.miniatura(null, 160)).isNull();
+    }
+
+    private Path original(String url) {
+        String arquivo = url.substring(url.lastIndexOf('/') + 1);
+        return armazenamento.localizar(ArmazenamentoImagens.ORIGINAL, arquivo);
+    }
+
+    // Tudo o que ficou no disco, inclusive temporários de upload que deveriam ter sido apagados
+    private List<Path> arquivos() throws IOException {
+        try (Stream<Path> caminhos = Files.walk(diretorio)) {
+            return caminhos.filter(Files::isRegularFile).toList();
+        }
+    }
+
+    static ExecutorService executorDireto() {
+        ExecutorService executor = mock(ExecutorService.class);
+        doAnswer(invocacao -> {
+            invocacao.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any());
+        return executor;
+    }
+
+    static byte[] png(int largura, int altura) throws IOException {
+        BufferedImage imagem = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+        imagem.setRGB(0, 0, 0xFF0000);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        ImageIO.write(imagem, "png", saida);
+        return saida.toByteArray();
+    }
+}
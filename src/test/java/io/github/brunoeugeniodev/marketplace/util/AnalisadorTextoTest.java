@@ -0,0 +1,59 @@
+package io.github.brunoeugeniodev.marketplace.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalisadorTextoTest {
+
+    @Test
+    void normalizaAcentosEMaiusculas() {
+        assertThat(AnalisadorTexto.normalizar("Ação CAFÉ Pão")).isEqualTo("acao cafe pao");
+        assertThat(AnalisadorTexto.normalizar(null)).isEmpty();
+    }
+
+    @Test
+    void quebraEmTermosSemStopwords() {
+        assertThat(AnalisadorTexto.analisar("Pão de Queijo, com  manteiga!"))
+                .containsExactly("pao", "queijo", "manteiga");
+        assertThat(AnalisadorTexto.analisar("a de para")).isEmpty();
+        assertThat(AnalisadorTexto.analisar("   ")).isEmpty();
+        assertThat(AnalisadorTexto.analisar(null)).isEmpty();
+    }
+
+    @Test
+    void mantemNumerosEUnidades() {
+        assertThat(AnalisadorTexto.analisar("Notebook i7 16GB 512")).containsExactly("notebook", "i7", "16gb", "512");
+    }
+
+    @Test
+    void reduzPluraisAoSingular() {
+        assertThat(AnalisadorTexto.reduzir("camisetas")).isEqualTo("camiseta");
+        assertThat(AnalisadorTexto.reduzir("limoes")).isEqualTo("limao");
+        assertThat(AnalisadorTexto.reduzir("paes")).isEqualTo("pao");
+        assertThat(AnalisadorTexto.reduzir("capitaes")).isEqualTo("capitao");
+        assertThat(AnalisadorTexto.reduzir("jornais")).isEqualTo("jornal");
+        assertThat(AnalisadorTexto.reduzir("papeis")).isEqualTo("papel");
+        assertThat(AnalisadorTexto.reduzir("lencois")).isEqualTo("lencol");
+        assertThat(AnalisadorTexto.reduzir("colheres")).isEqualTo("colher");
+        assertThat(AnalisadorTexto.reduzir("luzes")).isEqualTo("luz");
+        assertThat(AnalisadorTexto.reduzir("bombons")).isEqualTo("bombom");
+    }
+
+    @Test
+    void naoReduzPalavrasCurtasNemTerminadasEmSs() {
+        assertThat(AnalisadorTexto.reduzir("gas")).isEqualTo("gas");
+        assertThat(AnalisadorTexto.reduzir("express")).isEqualTo("express");
+        assertThat(AnalisadorTexto.reduzir("ps5s")).isEqualTo("ps5");
+        assertThat(AnalisadorTexto.reduzir("12345")).isEqualTo("12345");
+    }
+
+    @Test
+    void singularEPluralGeramOMesmoTermo() {
+        List<String> singular = AnalisadorTexto.analisar("Colher de pau");
+        List<String> plural = AnalisadorTexto.analisar("Colheres de pau");
+        assertThat(plural).isEqualTo(singular);
+    }
+}
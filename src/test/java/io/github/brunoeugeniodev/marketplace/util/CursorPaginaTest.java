@@ -0,0 +1,47 @@
+package io.github.brunoeugeniodev.marketplace.util;
+
+import io.github.brunoeugeniodev.marketplace.exception.ApiException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorPaginaTest {
+
+    @Test
+    void codificaEDecodifica() {
+        CursorPagina cursor = new CursorPagina("NOME", "Loja|Centro", 42L);
+
+        assertThat(CursorPagina.decodificar(cursor.codificar(), "NOME")).isEqualTo(cursor);
+        assertThat(CursorPagina.decodificar(null, "NOME")).isNull();
+    }
+
+    @Test
+    void rejeitaCursorDeOutraOrdenacaoOuCorrompido() {
+        String token = new CursorPagina("NOME", "x", 1L).codificar();
+
+        assertThatThrownBy(() -> CursorPagina.decodificar(token, "PRECO")).isInstanceOf(ApiException.class);
+        assertThatThrownBy(() -> CursorPagina.decodificar("%%%", "NOME")).isInstanceOf(ApiException.class);
+    }
+
+    @Test
+    void posicaoNoRankingLimitadaAoTamanho() {
+        assertThat(ranking("0").posicaoNoRanking(10)).isZero();
+        assertThat(ranking("7").posicaoNoRanking(10)).isEqualTo(7);
+        // O ranking encolheu entre as páginas: página vazia
+        assertThat(ranking("25").posicaoNoRanking(10)).isEqualTo(10);
+    }
+
+    @Test
+    void posicaoNoRankingNegativaOuInvalidaERejeitada() {
+        assertThatThrownBy(() -> ranking("-1").posicaoNoRanking(10))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("Cursor de paginação inválido");
+        assertThatThrownBy(() -> ranking("abc").posicaoNoRanking(10)).isInstanceOf(ApiException.class);
+        assertThatThrownBy(() -> ranking(null).posicaoNoRanking(10)).isInstanceOf(ApiException.class);
+    }
+
+    private static CursorPagina ranking(String posicao) {
+        return new CursorPagina("RELEVANCIA", posicao, 1L);
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.brunoeugeniodev.marketplace.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndiceInvertidoTest {
+
+    private final IndiceInvertido indice = new IndiceInvertido();
+
+    @Test
+    void exigeTodosOsTermos() {
+        indice.indexar(1L, Map.of("camiseta", 3f, "azul", 3f));
+        indice.indexar(2L, Map.of("camiseta", 3f, "preta", 3f));
+
+        assertThat(indice.buscar(List.of("camiseta", "azul"))).containsExactly(1L);
+        assertThat(indice.buscar(List.of("camiseta", "verde"))).isEmpty();
+        assertThat(indice.buscar(List.of())).isEmpty();
+    }
+
+    @Test
+    void frequenciaMaiorRanqueiaAntes() {
+        indice.indexar(1L, Map.of("cafe", 1f, "torrado", 1f));
+        indice.indexar(2L, Map.of("cafe", 3f, "torrado", 1f));
+
+        assertThat(indice.buscar(List.of("cafe"))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void documentoCurtoRanqueiaAntesDoLongo() {
+        indice.indexar(1L, Map.of("cafe", 1f, "moido", 1f, "extra", 1f, "forte", 1f, "gourmet", 1f));
+        indice.indexar(2L, Map.of("cafe", 1f));
+
+        assertThat(indice.buscar(List.of("cafe"))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void termoRaroPesaMaisQueTermoComum() {
+        // Mesmo comprimento: 1 repete o termo raro (arabica), 2 repete o comum (cafe)
+        indice.indexar(1L, Map.of("cafe", 1f, "arabica", 3f));
+        indice.indexar(2L, Map.of("cafe", 3f, "arabica", 1f));
+        indice.indexar(3L, Map.of("cafe", 1f, "torrado", 1f));
+        indice.indexar(4L, Map.of("cafe", 1f, "soluvel", 1f));
+
+        assertThat(indice.buscar(List.of("cafe", "arabica"))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void empateDesfeitoPeloIdMaisRecente() {
+        indice.indexar(5L, Map.of("mesa", 1f));
+        indice.indexar(9L, Map.of("mesa", 1f));
+        indice.indexar(7L, Map.of("mesa", 1f));
+
+        assertThat(indice.buscar(List.of("mesa"))).containsExactly(9L, 7L, 5L);
+    }
+
+    @Test
+    void reindexarSubstituiOsTermosAnteriores() {
+        indice.indexar(1L, Map.of("cadeira", 1f));
+        indice.indexar(1L, Map.of("mesa", 1f));
+
+        assertThat(indice.buscar(List.of("cadeira"))).isEmpty();
+        assertThat(indice.buscar(List.of("mesa"))).containsExactly(1L);
+        assertThat(indice.tamanho()).isEqualTo(1);
+    }
+
+    @Test
+    void removerTiraODocumentoDaBusca() {
+        indice.indexar(1L, Map.of("mesa", 1f));
+        indice.indexar(2L, Map.of("mesa", 1f));
+        indice.remover(1L);
+        indice.remover(99L);
+
+        assertThat(indice.buscar(List.of("mesa"))).containsExactly(2L);
+        assertThat(indice.tamanho()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.brunoeugeniodev.marketplace.util;
+
+import io.github.brunoeugeniodev.marketplace.config.ModelMapperConfig;
+import io.github.brunoeugeniodev.marketplace.dto.*;
+import io.github.brunoeugeniodev.marketplace.models.*;
+import org.modelmapper.ModelMapper;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Conversões entidade -> DTO como eram antes dos mapeadores escritos à mão (ModelMapper STRICT + ajustes).
+// Referência para o MapperUtilTest e linha de comparação do MapperUtilBenchmark.
+public class MapeamentoModelMapper {
+
+    private final ModelMapper modelMapper = new ModelMapperConfig().modelMapper();
+
+    public UsuarioDTO toUsuarioDTO(Usuario usuario) {
+        return modelMapper.map(usuario, UsuarioDTO.class);
+    }
+
+    public ProdutoDTO toProdutoDTO(Produto produto) {
+        ProdutoDTO dto = modelMapper.map(produto, ProdutoDTO.class);
+        dto.setLojaId(produto.getLoja() != null ? produto.getLoja().getId() : null);
+        dto.setLojaNome(produto.getLoja() != null ? produto.getLoja().getNome() : null);
+        dto.setLojaCnpj(produto.getLoja() != null ? produto.getLoja().getCnpj() : null);
+        return dto;
+    }
+
+    public LojaDTO toLojaDTO(Loja loja) {
+        LojaDTO dto = modelMapper.map(loja, LojaDTO.class);
+        if (loja.getUsuario() != null) {
+            dto.setProprietarioId(loja.getUsuario().getId());
+            dto.setProprietarioNome(loja.getUsuario().getNome());
+        }
+        dto.setQuantidadeProdutos(loja.getQuantidadeProdutos());
+        if (loja.getEndereco() != null) {
+            dto.setEndereco(modelMapper.map(loja.getEndereco(), EnderecoLojaDTO.class));
+        }
+        return dto;
+    }
+
+    public EnderecoDTO toEnderecoDTO(Endereco endereco) {
+        EnderecoDTO dto = modelMapper.map(endereco, EnderecoDTO.class);
+        dto.setUsuarioId(endereco.getUsuario() != null ? endereco.getUsuario().getId() : null);
+        return dto;
+    }
+
+    public CarrinhoDTO mapCarrinhoToDTO(Carrinho carrinho) {
+        CarrinhoDTO dto = modelMapper.map(carrinho, CarrinhoDTO.class);
+        if (carrinho.getUsuario() != null) {
+            dto.setUsuarioId(carrinho.getUsuario().getId());
+            dto.setUsuarioNome(carrinho.getUsuario().getNome());
+            dto.setUsuarioEmail(carrinho.getUsuario().getEmail());
+        }
+        if (carrinho.getItens() != null && !carrinho.getItens().isEmpty()) {
+            dto.setItens(carrinho.getItens().stream()
+                    .map(this::mapItemCarrinhoToDTO)
+                    .collect(Collectors.toList()));
+        }
+        return dto;
+    }
+
+    public ItemCarrinhoDTO mapItemCarrinhoToDTO(ItemCarrinho item) {
+        ItemCarrinhoDTO dto = modelMapper.map(item, ItemCarrinhoDTO.class);
+        if (item.getProduto() != null) {
+            dto.setProdutoId(item.getProduto().getId());
+            dto.setProdutoNome(item.getProduto().getNome());
+            dto.setProdutoDescricao(item.getProduto().getDescricao());
+            dto.setProdutoPreco(item.getProduto().getPreco());
+            dto.setProdutoFotoUrl(item.getProduto().getFotoUrl());
+            dto.setProdutoQuantidadeDisponivel(item.getProduto().getQuantidade());
+            dto.setProdutoDisponivel(item.getProduto().isDisponivel());
+        }
+        return dto;
+    }
+
+    public <S, T> List<T> mapList(List<S> source, Class<T> targetClass) {
+        return source.stream()
+                .map(element -> modelMapper.map(element, targetClass))
+                .collect(Collectors.toList());
+    }
+}
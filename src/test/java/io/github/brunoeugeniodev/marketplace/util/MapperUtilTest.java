@@ -0,0 +1,223 @@
+package io.github.brunoeugeniodev.marketplace.util;
+
+import io.github.brunoeugeniodev.marketplace.config.ModelMapperConfig;
+import io.github.brunoeugeniodev.marketplace.dto.LojaDTO;
+import io.github.brunoeugeniodev.marketplace.models.Carrinho;
+import io.github.brunoeugeniodev.marketplace.models.Endereco;
+import io.github.brunoeugeniodev.marketplace.models.ItemCarrinho;
+import io.github.brunoeugeniodev.marketplace.models.Loja;
+import io.github.brunoeugeniodev.marketplace.models.Produto;
+import io.github.brunoeugeniodev.marketplace.models.Usuario;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Os mapeadores escritos à mão precisam produzir exatamente o que o ModelMapper produzia
+class MapperUtilTest {
+
+    private static final LocalDateTime CRIACAO = LocalDateTime.of(2025, 3, 10, 14, 30, 15);
+    private static final LocalDateTime ATUALIZACAO = LocalDateTime.of(2025, 4, 2, 9, 5, 0);
+
+    private final MapperUtil mapperUtil = new MapperUtil(new ModelMapperConfig().modelMapper());
+    private final MapeamentoModelMapper referencia = new MapeamentoModelMapper();
+
+    @Test
+    void produtoCompleto() {
+        Produto produto = produto(10L, loja(1L, true));
+        mesmoResultado(mapperUtil.toProdutoDTO(produto), referencia.toProdutoDTO(produto));
+    }
+
+    @Test
+    void produtoSemLojaEComCamposOpcionaisNulos() {
+        Produto produto = new Produto();
+        produto.setId(11L);
+        produto.setNome("Sem loja");
+        produto.setPreco(new BigDecimal("5.00"));
+        produto.setQuantidade(0L);
+        produto.setAtivo(false);
+        mesmoResultado(mapperUtil.toProdutoDTO(produto), referencia.toProdutoDTO(produto));
+    }
+
+    @Test
+    void listaDeProdutos() {
+        Loja loja = loja(2L, true);
+        List<Produto> produtos = List.of(produto(20L, loja), produto(21L, loja), produto(22L, loja));
+        mesmoResultado(mapperUtil.toProdutoDTOList(produtos), produtos.stream().map(referencia::toProdutoDTO).toList());
+    }
+
+    @Test
+    void lojaCompleta() {
+        Loja loja = loja(3L, true);
+        mesmoResultado(mapperUtil.toLojaDTO(loja), referencia.toLojaDTO(loja));
+    }
+
+    @Test
+    void lojaSemEnderecoESemProprietario() {
+        Loja loja = loja(4L, false);
+        loja.setUsuario(null);
+        mesmoResultado(mapperUtil.toLojaDTO(loja), referencia.toLojaDTO(loja));
+    }
+
+    @Test
+    void listaDeLojasSemDadosDoProprietario() {
+        List<Loja> lojas = List.of(loja(5L, true), loja(6L, false));
+        mesmoResultado(mapperUtil.toLojaDTOList(lojas), referencia.mapList(lojas, LojaDTO.class));
+    }
+
+    @Test
+    void usuario() {
+        Usuario usuario = usuario(7L);
+        usuario.setRoles(List.of("ROLE_USER", "ROLE_ADMIN"));
+        mesmoResultado(mapperUtil.toUsuarioDTO(usuario), referencia.toUsuarioDTO(usuario));
+    }
+
+    @Test
+    void usuarioSemCpfESemRoles() {
+        Usuario usuario = usuario(8L);
+        usuario.setCpf(null);
+        usuario.setRoles(null);
+        mesmoResultado(mapperUtil.toUsuarioDTO(usuario), referencia.toUsuarioDTO(usuario));
+    }
+
+    @Test
+    void endereco() {
+        Endereco endereco = endereco(usuario(9L));
+        mesmoResultado(mapperUtil.toEnderecoDTO(endereco), referencia.toEnderecoDTO(endereco));
+    }
+
+    @Test
+    void enderecoSemUsuario() {
+        Endereco endereco = endereco(null);
+        endereco.setComplemento(null);
+        mesmoResultado(mapperUtil.toEnderecoDTO(endereco), referencia.toEnderecoDTO(endereco));
+    }
+
+    @Test
+    void carrinhoComItens() {
+        Carrinho carrinho = carrinho(3);
+        mesmoResultado(mapperUtil.mapCarrinhoToDTO(carrinho), referencia.mapCarrinhoToDTO(carrinho));
+    }
+
+    @Test
+    void carrinhoVazio() {
+        Carrinho carrinho = carrinho(0);
+        mesmoResultado(mapperUtil.mapCarrinhoToDTO(carrinho), referencia.mapCarrinhoToDTO(carrinho));
+    }
+
+    @Test
+    void itemSemProduto() {
+        ItemCarrinho item = carrinho(1).getItens().get(0);
+        item.setProduto(null);
+        mesmoResultado(mapperUtil.mapItemCarrinhoToDTO(item), referencia.mapItemCarrinhoToDTO(item));
+    }
+
+    private static void mesmoResultado(Object atual, Object esperado) {
+        assertThat(atual).usingRecursiveComparison().isEqualTo(esperado);
+    }
+
+    private static Usuario usuario(long id) {
+        Usuario usuario = new Usuario();
+        usuario.setId(id);
+        usuario.setNome("Usuário " + id);
+        usuario.setEmail("usuario" + id + "@nalojatem.com.br");
+        usuario.setCpf("12345678901");
+        usuario.setAtivo(true);
+        usuario.setDataCriacao(CRIACAO);
+        usuario.setDataAtualizacao(ATUALIZACAO);
+        return usuario;
+    }
+
+    private static Loja loja(long id, boolean comEndereco) {
+        Loja loja = new Loja();
+        loja.setId(id);
+        loja.setUsuario(usuario(100 + id));
+        loja.setNome("Loja " + id);
+        loja.setCnpj(String.format("%014d", id));
+        loja.setDescricao("Loja de bairro");
+        loja.setFotoUrl("/imagens/loja" + id + ".png");
+        loja.setTelefone("(11) 99999-0000");
+        loja.setEmail("contato" + id + "@loja.com.br");
+        loja.setSite("https://loja" + id + ".com.br");
+        loja.setAtivo(true);
+        loja.setDataCriacao(CRIACAO);
+        loja.setDataAtualizacao(ATUALIZACAO);
+        loja.setAvaliacaoMedia(4.5);
+        loja.setTotalAvaliacoes(12);
+        loja.setQuantidadeProdutosAtivos(7);
+        if (comEndereco) {
+            Loja.EnderecoLoja endereco = new Loja.EnderecoLoja();
+            endereco.setRua("Rua das Flores");
+            endereco.setNumero("100");
+            endereco.setBairro("Centro");
+            endereco.setCidade("São Paulo");
+            endereco.setEstado("SP");
+            endereco.setCep("01001-000");
+            loja.setEndereco(endereco);
+        }
+        return loja;
+    }
+
+    private static Produto produto(long id, Loja loja) {
+        Produto produto = new Produto();
+        produto.setId(id);
+        produto.setLoja(loja);
+        produto.setNome("Produto " + id);
+        produto.setDescricao("Produto original com garantia");
+        produto.setPreco(new BigDecimal("199.90"));
+        produto.setQuantidade(5L);
+        produto.setFotoUrl("/imagens/produto" + id + ".png");
+        produto.setCategoria("Celulares");
+        produto.setMarca("Motorola");
+        produto.setModelo("M" + id);
+        produto.setDestaque(true);
+        produto.setAtivo(true);
+        produto.setAvaliacaoMedia(3.8);
+        produto.setTotalVendas(42);
+        produto.setDataCriacao(CRIACAO);
+        produto.setDataAtualizacao(ATUALIZACAO);
+        return produto;
+    }
+
+    private static Endereco endereco(Usuario usuario) {
+        Endereco endereco = new Endereco();
+        endereco.setId(30L);
+        endereco.setUsuario(usuario);
+        endereco.setRua("Avenida Paulista");
+        endereco.setNumero("1000");
+        endereco.setBairro("Bela Vista");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        endereco.setCep("01310-100");
+        endereco.setComplemento("Apto 12");
+        endereco.setEnderecoPrincipal(true);
+        return endereco;
+    }
+
+    private static Carrinho carrinho(int quantidadeItens) {
+        Carrinho carrinho = new Carrinho();
+        carrinho.setId(40L);
+        carrinho.setUsuario(usuario(41L));
+        carrinho.setDataCriacao(CRIACAO);
+        carrinho.setDataAtualizacao(ATUALIZACAO);
+        Loja loja = loja(42L, true);
+        List<ItemCarrinho> itens = new ArrayList<>();
+        for (int i = 0; i < quantidadeItens; i++) {
+            ItemCarrinho item = new ItemCarrinho();
+            item.setId(50L + i);
+            item.setCarrinho(carrinho);
+            item.setProduto(produto(60L + i, loja));
+            item.setQuantidade(1 + i);
+            item.setPrecoUnitario(item.getProduto().getPreco());
+            item.setDataAdicao(CRIACAO);
+            item.setDataAtualizacao(ATUALIZACAO);
+            itens.add(item);
+        }
+        carrinho.setItens(itens);
+        return carrinho;
+    }
+}